@@ -1,8 +1,17 @@
 package core;
 
+import core.cache.EmployeeCache;
+import core.cache.EmployeeColumnStore;
+import core.cache.OrgHierarchyIndex;
+import core.search.EmployeeSearchIndex;
+import db.dao.AsyncEmployeeDao;
 import db.dao.EmployeeDao;
+import db.dao.EmployeeFilter;
+import db.dao.EmployeeSkillDao;
 import db.dao.RoleDao;
 import model.db.Employee;
+import model.db.EmployeeField;
+import model.db.EmployeeSummary;
 import model.json.Role;
 import util.EmployeeCreationService;
 import db.DatabaseManager;
@@ -10,27 +19,53 @@ import db.DatabaseManager;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Objects;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
  * Der `EmployeeManager` ist die zentrale Klasse für die Verwaltung aller mitarbeiterbezogenen Vorgänge.
  * Er kümmert sich um das Abrufen, Erstellen, Aktualisieren und Löschen von Mitarbeiterdaten
  * und fungiert als Vermittler zwischen der Geschäftslogik der Anwendung und der Datenbank.
  * @author Dorian Gläske, Elias Glauert, joshuasperber
- * @version 1.7 (Added getRoleById and findById)
+ * @version 1.20 (stopPeriodicRefresh wartet auf einen laufenden Abgleich)
  * @since 2025-08-04
  */
 public class EmployeeManager {
 
-    private ArrayList<Employee> employees;
+    private final EmployeeCache employeeCache;
+    private final OrgHierarchyIndex orgHierarchyIndex;
+    private final EmployeeColumnStore columnStore;
+    private final EmployeeSearchIndex searchIndex;
     private EmployeeDao employeeDao;
+    private final AsyncEmployeeDao asyncEmployeeDao;
+    private final EmployeeSkillDao employeeSkillDao;
     private DatabaseManager databaseManager;
 
+    /**
+     * Zeilenversion, bis zu der der Cache mit der Datenbank abgeglichen ist. Wird nur unter refreshLock gelesen und geschrieben.
+     */
+    private long knownRowVersion = 0;
+    private final Object refreshLock = new Object();
+    private ScheduledExecutorService refreshScheduler;
+
+    /**
+     * So lange wartet stopPeriodicRefresh() höchstens auf einen laufenden Abgleich.
+     */
+    private static final long refresh_shutdown_seconds = 10;
+
     private RoleDao roleDao;
     private Map<String, Role> roleMap;
 
@@ -46,15 +81,163 @@ public class EmployeeManager {
         this.employeeDao = employeeDao;
         this.roleDao = roleDao;
         this.databaseManager = dbManager;
-        this.employees = new ArrayList<>();
+        this.asyncEmployeeDao = new AsyncEmployeeDao(dbManager);
+        this.employeeSkillDao = new EmployeeSkillDao(dbManager);
+        this.employeeCache = new EmployeeCache();
+        this.orgHierarchyIndex = new OrgHierarchyIndex();
+        this.searchIndex = new EmployeeSearchIndex();
+        this.columnStore = new EmployeeColumnStore();
+        this.employeeCache.addListener(orgHierarchyIndex);
+        this.employeeCache.addListener(searchIndex);
+        this.employeeCache.addListener(columnStore);
         this.roleMap = new HashMap<>();
     }
 
+    /**
+     * Lädt alle Mitarbeiter aus der Datenbank in den Cache.
+     * Wird nur beim Start und nach Massenänderungen gebraucht, einzelne Änderungen werden direkt im Cache angewendet.
+     * Passwort, Adresse, Qualifikationen und Schulungen werden erst beim ersten Zugriff nachgeladen.
+     * @author Elias Glauert
+     */
     public void setUpEmployees() {
-        employees.clear();
-        employees.addAll(employeeDao.getAllEmployeesFromDb());
-        System.out.println(" ~ db ~ all employees in EmployeeManager:");
-        for (Employee employee : employees) System.out.println("   | " + employee.toString());
+        synchronized (refreshLock) {
+            // Vor dem Laden lesen, damit Änderungen während des Ladens beim nächsten Abgleich noch einmal kommen
+            long version = readCurrentRowVersion();
+            employeeCache.replaceAll(employeeDao.getAllEmployeesPartialFromDb());
+            knownRowVersion = version;
+        }
+        System.out.println(" ~ db ~ " + employeeCache.size() + " employees loaded into EmployeeManager");
+    }
+
+    /**
+     * Lädt den Cache nach dem Wiederherstellen eines Backups neu und markiert die Wiederherstellung in der Datenbank,
+     * damit auch andere Instanzen beim nächsten Abgleich vollständig neu laden.
+     * @author Elias Glauert
+     */
+    public void reloadAfterRestore() {
+        try {
+            employeeDao.markRestored();
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Markieren der Wiederherstellung: " + e.getMessage());
+            e.printStackTrace();
+        }
+        setUpEmployees();
+    }
+
+    /**
+     * Gleicht den Cache mit der Datenbank ab, ohne alle Mitarbeiter neu zu laden.
+     * Gelesen werden nur Mitarbeiter und Löschungen, deren Zeilenversion größer als der letzte bekannte Stand ist.
+     * Nach einer Wiederherstellung der Datenbank wird stattdessen vollständig neu geladen.
+     * So sehen mehrere Instanzen der Anwendung auf derselben Datenbank die Änderungen der anderen.
+     * Geänderte Mitarbeiter ersetzen den Eintrag im Cache als neues Objekt, noch nicht gespeicherte Änderungen
+     * am alten Objekt bleiben dort erhalten und können weiterhin gespeichert werden. Eigene Änderungen kommen mit
+     * der Version zurück, die das Objekt im Cache schon hat, und werden übersprungen.
+     * Das ganze Delta wird als ein Snapshot veröffentlicht.
+     * @return Anzahl der übernommenen Änderungen und Löschungen.
+     * @author Elias Glauert
+     */
+    public int refreshEmployees() {
+        if (employeeDao == null) return 0;
+        synchronized (refreshLock) {
+            if (!employeeCache.isLoaded()) {
+                setUpEmployees();
+                return employeeCache.size();
+            }
+            try {
+                // Kleiner als der bekannte Stand wird die Version nur durch eine Wiederherstellung
+                if (employeeDao.getCurrentRowVersion() < knownRowVersion) {
+                    System.out.println(" ~ db ~ refreshEmployees(): Zeilenversion zurückgesetzt, lade neu");
+                    setUpEmployees();
+                    return employeeCache.size();
+                }
+                EmployeeDao.Delta delta = employeeDao.findChangesSince(knownRowVersion);
+                if (delta.reset()) {
+                    System.out.println(" ~ db ~ refreshEmployees(): Datenbank wiederhergestellt, lade neu");
+                    setUpEmployees();
+                    return employeeCache.size();
+                }
+                List<Employee> changed = new ArrayList<>(delta.changed().size());
+                for (Employee fresh : delta.changed()) {
+                    Employee cached = employeeCache.getById(fresh.getId());
+                    // Gleiche Version: eigener Schreibvorgang, das Objekt im Cache ist bereits aktuell und evtl. schon nachgeladen
+                    if (cached != null && cached.getRowVersion() == fresh.getRowVersion()) continue;
+                    changed.add(fresh);
+                }
+                // Eigene Löschungen sind schon aus dem Cache entfernt
+                List<Integer> removedIds = delta.removedIds().stream()
+                        .filter(id -> employeeCache.getById(id) != null)
+                        .toList();
+                employeeCache.apply(changed, removedIds);
+                knownRowVersion = delta.version();
+                if (!changed.isEmpty() || !removedIds.isEmpty()) {
+                    System.out.println(" ~ db ~ refreshEmployees(): " + changed.size() + " geändert, "
+                            + removedIds.size() + " gelöscht, Stand " + knownRowVersion);
+                }
+                return changed.size() + removedIds.size();
+            } catch (SQLException e) {
+                System.err.println("Fehler beim Abgleich des Mitarbeiter-Caches: " + e.getMessage());
+                e.printStackTrace();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Startet einen Hintergrund-Thread, der den Cache regelmäßig über {@link #refreshEmployees()} abgleicht.
+     * Ein erneuter Aufruf ersetzt das bisherige Intervall.
+     * @param intervalSeconds Abstand zwischen zwei Abgleichen in Sekunden.
+     * @author Elias Glauert
+     */
+    public synchronized void startPeriodicRefresh(long intervalSeconds) {
+        stopPeriodicRefresh();
+        refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshScheduler.scheduleWithFixedDelay(this::refreshEmployees, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Beendet den regelmäßigen Abgleich. Ein laufender Abgleich wird nicht unterbrochen, da ein Interrupt
+     * während eines Zugriffs die eingebettete H2-Datenbank schließt, sondern höchstens
+     * {@link #refresh_shutdown_seconds} Sekunden abgewartet. Danach greift der Abgleich nicht mehr auf die Datenbank zu,
+     * sie kann also getrennt werden, ohne dass getConnection() sie wieder öffnet.
+     * @author Elias Glauert
+     */
+    public synchronized void stopPeriodicRefresh() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdown();
+            try {
+                if (!refreshScheduler.awaitTermination(refresh_shutdown_seconds, TimeUnit.SECONDS)) {
+                    System.err.println("Der laufende Abgleich des Mitarbeiter-Caches ist nach " + refresh_shutdown_seconds + " Sekunden noch nicht fertig.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            refreshScheduler = null;
+        }
+    }
+
+    private long readCurrentRowVersion() {
+        try {
+            return employeeDao.getCurrentRowVersion();
+        } catch (SQLException e) {
+            // Mit 0 liest der nächste Abgleich alle Mitarbeiter, das ist teuer, aber richtig
+            System.err.println("Fehler beim Lesen der aktuellen Zeilenversion: " + e.getMessage());
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Lädt die Mitarbeiter, falls der Cache noch nie befüllt wurde.
+     * @author Elias Glauert
+     */
+    private void ensureEmployeesLoaded() {
+        if (!employeeCache.isLoaded() && employeeDao != null) {
+            setUpEmployees();
+        }
     }
 
     /**
@@ -69,20 +252,44 @@ public class EmployeeManager {
         }
     }
 
+    /**
+     * Schreibt alle Mitarbeiter zeilenweise in eine Textdatei.
+     * Die Mitarbeiter werden direkt aus der Datenbank in die Datei gestreamt, ohne sie vorher alle in den Speicher zu laden.
+     * @param fileName Name der Zieldatei.
+     * @author Elias Glauert
+     */
     public void saveEmployeesToTxt(String fileName) {
-        if (employees == null || employees.isEmpty()) {
-            System.out.println("No employees available to save.");
-            return;
-        }
-
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            for (Employee employee : employees) {
-                writer.write(employee.toString());
-                writer.newLine();
+            long written;
+            if (employeeDao != null) {
+                written = employeeDao.forEachEmployee(employee -> writeLine(writer, employee.toString()));
+            } else {
+                List<Employee> employees = employeeCache.values();
+                for (Employee employee : employees) {
+                    writeLine(writer, employee.toString());
+                }
+                written = employees.size();
             }
-            System.out.println("Employee data successfully saved to '" + fileName + "'.");
-        } catch (IOException e) {
+
+            if (written == 0) {
+                System.out.println("No employees available to save.");
+                return;
+            }
+            System.out.println("Employee data (" + written + " employees) successfully saved to '" + fileName + "'.");
+        } catch (IOException | UncheckedIOException e) {
             System.err.println("Error saving employee data to file '" + fileName + "': " + e.getMessage());
+        } catch (SQLException e) {
+            System.err.println("Error reading employee data for file '" + fileName + "': " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void writeLine(BufferedWriter writer, String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -128,36 +335,73 @@ public class EmployeeManager {
                 dateOfBirth, address, gender, hireDate, employmentStatus, departmentId, teamId, roleId,
                 qualifications, completedTrainings, managerId, itAdmin, hr, hrHead, isManager);
 
+        addEmployee(newEmployee);
+    }
+
+    /**
+     * Fügt einen bereits erstellten Mitarbeiter in die Datenbank und den Cache ein.
+     * @param newEmployee Der neue Mitarbeiter, die ID wird von der Datenbank vergeben.
+     * @author Elias Glauert
+     */
+    public void addEmployee(Employee newEmployee) {
         employeeDao.addEmployeeToDb(newEmployee);
-        setUpEmployees();
+        // Die ID wird beim Einfügen von der Datenbank gesetzt, bleibt sie 0, ist das Einfügen fehlgeschlagen
+        if (newEmployee.getId() > 0) {
+            employeeCache.put(newEmployee);
+        }
     }
 
     /**
      * Entfert einen Mitarebiter aus der Datenabank und aktualisiert die loakle Map.
+     * Schlägt das Löschen fehl, bleibt der Mitarbeiter im Cache.
      * @param id die ID des zu entfernenden Mitarbeiter
+     * @throws SQLException Falls das Löschen in der Datenbank fehlschlägt.
      */
-    public void removeEmployee(int id) {
+    public void removeEmployee(int id) throws SQLException {
         employeeDao.removeEmployee(id);
-        setUpEmployees();
+        employeeCache.remove(id);
     }
 
     /**
      * Sucht nach Mitarbeitern, absierent auf einer Liste von Feldern und deren entsprechenden Inhalten
+     * Ist der Cache geladen und wird nach ID oder Benutzername gesucht, wird direkt im Cache nachgeschlagen.
+     * Ansonsten wird die Suche als parametrisierte WHERE-Klausel an die Datenbank geschickt, sodass nur passende
+     * Zeilen geladen werden. Nur Felder, die nicht in {@link EmployeeField} stehen, werden im Speicher verglichen.
      * @param fields eine Liste von Feldnamen ( Firstname, lastName..)
      * @param contents Eine Liste von Inhalts-Strings, die mit den Feldern abgeglichen werden sollen
      * @return Eine Liste von Employee-Objekten,
      * @author joshuasperber
      */
     public List<Employee> findEmployees(List<String> fields, List<String> contents) {
-        setUpEmployees();
+        if (fields.size() != contents.size()) {
+            throw new IllegalArgumentException("Fields and contents lists must be of the same size.");
+        }
+
+        if (employeeCache.isLoaded()) {
+            List<Employee> indexed = findIndexedCandidates(fields, contents);
+            if (indexed != null) {
+                return filterInMemory(indexed, fields, contents);
+            }
+        }
+
+        EmployeeFilter filter = employeeDao != null ? EmployeeFilter.fromFieldNames(fields, contents) : null;
+        if (filter != null) {
+            return preferCachedInstances(employeeDao.findEmployees(filter));
+        }
 
+        ensureEmployeesLoaded();
+        return filterInMemory(employeeCache.values(), fields, contents);
+    }
+
+    private List<Employee> filterInMemory(List<Employee> candidates, List<String> fields, List<String> contents) {
         List<Employee> matchingEmployees = new ArrayList<>();
 
-        if (fields.size() != contents.size()) {
-            throw new IllegalArgumentException("Fields and contents lists must be of the same size.");
+        // Werden nachzuladende Felder verglichen, alle Kandidaten gesammelt nachladen statt jeden einzeln beim Zugriff
+        if (comparesMissingFields(candidates, fields)) {
+            hydrateEmployees(candidates);
         }
 
-        for (Employee employee : employees) {
+        for (Employee employee : candidates) {
             boolean match = true;
             for (int i = 0; i < fields.size(); i++) {
                 String field = fields.get(i);
@@ -176,6 +420,63 @@ public class EmployeeManager {
         return matchingEmployees;
     }
 
+    private static boolean comparesMissingFields(List<Employee> candidates, List<String> fields) {
+        for (Employee employee : candidates) {
+            if (employee.isHydrated()) continue;
+            Set<EmployeeField> missing = employee.getMissingFields();
+            for (String field : fields) {
+                if (missing.contains(EmployeeField.fromFieldName(field))) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lädt die fehlenden Felder teilweise geladener Mitarbeiter mit wenigen gesammelten Abfragen nach,
+     * z.B. bevor über viele Mitarbeiter hinweg Adressen oder Qualifikationen gelesen werden.
+     * @param employees Die Mitarbeiter, vollständig geladene werden übersprungen.
+     * @author Elias Glauert
+     */
+    public void hydrateEmployees(Collection<Employee> employees) {
+        if (employeeDao == null) return;
+        try {
+            employeeDao.hydrate(employees);
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Nachladen von " + employees.size() + " Mitarbeitern: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Lädt eine Seite von Mitarbeitern direkt aus der Datenbank, sortiert nach ID.
+     * Zum Durchlaufen großer Tabellen mit konstantem Speicherbedarf: die nächste Seite beginnt nach der ID des
+     * letzten Mitarbeiters der vorherigen Seite.
+     * Bereits geladene Mitarbeiter werden als dieselben Objekte zurückgegeben wie aus dem Cache.
+     * @param afterId Letzte ID der vorherigen Seite, 0 für die erste Seite.
+     * @param limit Maximale Anzahl Mitarbeiter auf der Seite.
+     * @param filter Filter für die Seite, ein leerer Filter liefert alle Mitarbeiter.
+     * @return Die Mitarbeiter der Seite. Ist die Liste kürzer als limit, gibt es keine weitere Seite.
+     * @author Elias Glauert
+     */
+    public List<Employee> findEmployeePage(int afterId, int limit, EmployeeFilter filter) {
+        return preferCachedInstances(employeeDao.findPage(afterId, limit, filter));
+    }
+
+    /**
+     * Ersetzt frisch aus der Datenbank gelesene Mitarbeiter durch die Objekte aus dem Cache, falls dieser geladen ist,
+     * damit Änderungen an einem Mitarbeiter überall sichtbar sind.
+     * @author Elias Glauert
+     */
+    private List<Employee> preferCachedInstances(List<Employee> employees) {
+        if (employeeCache.isLoaded()) {
+            employees.replaceAll(employee -> {
+                Employee cached = employeeCache.getById(employee.getId());
+                return cached != null ? cached : employee;
+            });
+        }
+        return employees;
+    }
+
     /**
      * Sucht nach einem Mitarbeiter anhand seiner String-ID.
      * Dies ist eine Komfortmethode, die die String-ID in einen Integer umwandelt und die bestehende Methode aufruft.
@@ -206,14 +507,93 @@ public class EmployeeManager {
         return roleMap.get(roleId);
     }
 
+    /**
+     * Gibt den vollständigen Mitarbeiter zu einer ID zurück.
+     * Ist der Cache noch nicht geladen, wird nur diese eine Zeile aus der Datenbank gelesen.
+     * @param id Die ID des Mitarbeiters.
+     * @return Der Mitarbeiter oder null, wenn es keinen mit dieser ID gibt.
+     * @author Elias Glauert
+     */
     public Employee getEmployeeById(int id) {
-        setUpEmployees();
+        if (!employeeCache.isLoaded() && employeeDao != null) {
+            List<Employee> rows = employeeDao.findEmployees(new EmployeeFilter().equalTo(EmployeeField.ID, String.valueOf(id)));
+            return rows.isEmpty() ? null : rows.get(0);
+        }
+        return employeeCache.getById(id);
+    }
+
+    /**
+     * Prüft über den Hierarchie-Index, ob ein Mitarbeiter direkter oder indirekter Vorgesetzter eines anderen ist.
+     * @param managerId ID des möglichen Vorgesetzten.
+     * @param employeeId ID des Mitarbeiters.
+     * @return true, wenn managerId in der Vorgesetzten-Kette von employeeId steht.
+     * @author Elias Glauert
+     */
+    public boolean isManagerOf(int managerId, int employeeId) {
+        ensureEmployeesLoaded();
+        return orgHierarchyIndex.isManagerOf(managerId, employeeId);
+    }
+
+    /**
+     * Sucht Mitarbeiter über den Suchindex. Jedes Wort des Suchbegriffs muss der Anfang eines Wortes aus
+     * Vorname, Nachname oder E-Mail sein.
+     * Ist der Mitarbeiter-Cache noch nicht geladen, wird der Suchindex nur mit den Zusammenfassungen aus der
+     * Datenbank befüllt, statt alle Mitarbeiter vollständig zu laden.
+     * @param keyword Suchbegriff, leer oder null für alle Mitarbeiter.
+     * @param departmentId Abteilung, auf die eingeschränkt wird, oder null für alle Abteilungen.
+     * @return Die passenden Mitarbeiter als Zusammenfassung, aufsteigend nach ID sortiert.
+     * @author Elias Glauert
+     */
+    public List<EmployeeSummary> searchEmployeeSummaries(String keyword, String departmentId) {
+        ensureSearchIndexLoaded();
+        return searchIndex.search(keyword, departmentId);
+    }
+
+    /**
+     * Wie {@link #searchEmployeeSummaries(String, String)}, reicht die Treffer aber einzeln weiter, sodass
+     * z.B. die Anzeige schon während der Suche beginnen kann. Der Empfänger darf nicht blockieren.
+     * @param consumer Bekommt die Treffer aufsteigend nach ID. Gibt er false zurück, endet die Suche.
+     * @return Anzahl der weitergereichten Treffer.
+     * @author Elias Glauert
+     */
+    public int searchEmployeeSummaries(String keyword, String departmentId, Predicate<EmployeeSummary> consumer) {
+        ensureSearchIndexLoaded();
+        return searchIndex.forEachMatch(keyword, departmentId, consumer);
+    }
 
-        System.out.println("EmployeeManager.employees.size() = " + employees.size());
-        for (Employee employee : employees) {
-            if (employee.getId() == id) {
-                return employee;
+    /**
+     * Ist der Mitarbeiter-Cache noch nicht geladen, wird der Suchindex nur mit den Zusammenfassungen aus der
+     * Datenbank befüllt, statt alle Mitarbeiter vollständig zu laden.
+     */
+    private void ensureSearchIndexLoaded() {
+        if (!searchIndex.isLoaded()) {
+            if (employeeDao != null) {
+                searchIndex.replaceAll(employeeDao.findSummaries(new EmployeeFilter()));
+            } else {
+                ensureEmployeesLoaded();
+            }
+        }
+    }
+
+    /**
+     * Grenzt die zu prüfenden Mitarbeiter über die Indizes des Caches ein, falls nach ID oder Benutzername gesucht wird.
+     * Die E-Mail ist nicht eindeutig und wird deshalb wie die übrigen Felder gesucht.
+     * @return Die Kandidaten oder null, wenn keines dieser Felder gesucht wird.
+     * @author Elias Glauert
+     */
+    private List<Employee> findIndexedCandidates(List<String> fields, List<String> contents) {
+        for (int i = 0; i < fields.size(); i++) {
+            String content = contents.get(i);
+            if (content == null) continue;
+            Employee candidate;
+            switch (fields.get(i)) {
+                case "id" -> candidate = findById(content);
+                case "username" -> candidate = employeeCache.getByUsername(content);
+                default -> {
+                    continue;
+                }
             }
+            return candidate == null ? List.of() : List.of(candidate);
         }
         return null;
     }
@@ -306,29 +686,152 @@ public class EmployeeManager {
     }
 
     public boolean hasEmployeesGenerated() {
-        setUpEmployees();
-        return employees != null && !employees.isEmpty();
+        ensureEmployeesLoaded();
+        return employeeCache.size() > 0;
     }
 
+    /**
+     * @return Alle Mitarbeiter als unveränderliche Liste aus dem aktuellen Cache-Snapshot.
+     */
     public List<Employee> findAll() {
-        setUpEmployees();
-        return new ArrayList<>(this.employees);
+        ensureEmployeesLoaded();
+        return employeeCache.values();
     }
 
     public void updateEmployee(Employee updatedEmployee) throws Exception {
         if (employeeDao != null) {
             employeeDao.updateEmployee(updatedEmployee);
-            setUpEmployees();
+            employeeCache.put(updatedEmployee);
         } else {
-            for (int i = 0; i < employees.size(); i++) {
-                if (employees.get(i).getId() == updatedEmployee.getId()) {
-                    employees.set(i, updatedEmployee);
-                    return;
-                }
+            if (employeeCache.getById(updatedEmployee.getId()) == null) {
+                throw new Exception("Employee not found");
             }
-            throw new Exception("Employee not found");
+            employeeCache.put(updatedEmployee);
         }
     }
+    /**
+     * Liefert die Qualifikationen eines Mitarbeiters über den Index der Tabelle 'employee_skill'.
+     * Für noch nicht gespeicherte Mitarbeiter wird die Spalte 'qualifications' des Objekts zerlegt.
+     * @param employee Der Mitarbeiter.
+     * @return Die IDs der Qualifikationen.
+     * @author Elias Glauert
+     */
+    public List<String> getQualificationIds(Employee employee) {
+        if (employeeDao == null || employee.getId() <= 0 || employee.isDirty()) {
+            return EmployeeSkillDao.parseIds(employee.getQualifications());
+        }
+        return employeeSkillDao.findSkillIdsOf(employee.getId());
+    }
+
+    /**
+     * Fügt dem Mitarbeiter eine Qualifikation hinzu, gespeichert wird erst mit updateEmployee.
+     * @param employee Der Mitarbeiter.
+     * @param qualificationId Die neue Qualifikation.
+     * @return false, wenn der Mitarbeiter die Qualifikation schon hat.
+     * @author Elias Glauert
+     */
+    public boolean addQualification(Employee employee, String qualificationId) {
+        List<String> qualificationIds = EmployeeSkillDao.parseIds(employee.getQualifications());
+        if (qualificationIds.contains(qualificationId)) return false;
+        qualificationIds.add(qualificationId);
+        employee.setQualifications(EmployeeSkillDao.formatIds(qualificationIds));
+        return true;
+    }
+
+    /**
+     * Sucht alle Mitarbeiter mit einer Qualifikation über den Index der Tabelle 'employee_skill'.
+     * @param qualificationId Die gesuchte Qualifikation.
+     * @return Die Mitarbeiter, aufsteigend nach ID.
+     * @author Elias Glauert
+     */
+    public List<Employee> findEmployeesWithQualification(String qualificationId) {
+        List<Employee> employees = new ArrayList<>();
+        for (int id : employeeSkillDao.findEmployeeIdsWithSkill(qualificationId)) {
+            Employee employee = getEmployeeById(id);
+            if (employee != null) employees.add(employee);
+        }
+        return employees;
+    }
+
+    /**
+     * Speichert die Änderungen mehrerer Mitarbeiter gesammelt in einer Transaktion und übernimmt sie in den Cache.
+     * @param updatedEmployees Die geänderten Mitarbeiter.
+     * @return Anzahl der Mitarbeiter, für die tatsächlich etwas geschrieben wurde.
+     * @throws Exception Falls das Speichern fehlschlägt, dann wurde keiner der Mitarbeiter gespeichert.
+     * @author Elias Glauert
+     */
+    public int updateEmployees(Collection<Employee> updatedEmployees) throws Exception {
+        int updated = employeeDao.updateEmployeesBatch(updatedEmployees);
+        employeeCache.putAll(updatedEmployees);
+        return updated;
+    }
+
+    /**
+     * Version des aktuellen Cache-Snapshots. Solange sie sich nicht ändert, sind aus dem Cache abgeleitete Ergebnisse noch gültig.
+     * @author Elias Glauert
+     */
+    public long getSnapshotVersion() {
+        return employeeCache.getSnapshotVersion();
+    }
+
+    /**
+     * Spaltenweise Ablage aller Mitarbeiter für Kopfzahlen, Betriebszugehörigkeit und Verteilungen.
+     * Lädt die Mitarbeiter vorher, falls das noch nicht passiert ist.
+     * @author Elias Glauert
+     */
+    public EmployeeColumnStore getColumnStore() {
+        ensureEmployeesLoaded();
+        return columnStore;
+    }
+
+    /**
+     * Asynchrone Variante von {@link #addEmployee}, für Aufrufe aus der GUI.
+     * @param newEmployee Der neue Mitarbeiter, die ID wird nach dem Einfügen gesetzt.
+     * @return Ein Future mit dem eingefügten Mitarbeiter. Schlägt fehl, wenn die Datenbank keine ID vergeben hat.
+     * @author Elias Glauert
+     */
+    public CompletableFuture<Employee> addEmployeeAsync(Employee newEmployee) {
+        return asyncEmployeeDao.submit(() -> {
+            addEmployee(newEmployee);
+            if (newEmployee.getId() <= 0) {
+                throw new Exception("Mitarbeiter " + newEmployee.getUsername() + " konnte nicht eingefügt werden.");
+            }
+            return newEmployee;
+        });
+    }
+
+    /**
+     * Asynchrone Variante von {@link #updateEmployee}, für Aufrufe aus der GUI.
+     * @author Elias Glauert
+     */
+    public CompletableFuture<Void> updateEmployeeAsync(Employee updatedEmployee) {
+        return asyncEmployeeDao.run(() -> updateEmployee(updatedEmployee));
+    }
+
+    /**
+     * Asynchrone Variante von {@link #removeEmployee}, für Aufrufe aus der GUI.
+     * @author Elias Glauert
+     */
+    public CompletableFuture<Void> removeEmployeeAsync(int id) {
+        return asyncEmployeeDao.run(() -> removeEmployee(id));
+    }
+
+    /**
+     * Asynchrone Variante von {@link #findEmployees}, für Aufrufe aus der GUI.
+     * @author Elias Glauert
+     */
+    public CompletableFuture<List<Employee>> findEmployeesAsync(List<String> fields, List<String> contents) {
+        return asyncEmployeeDao.submit(() -> findEmployees(fields, contents));
+    }
+
+    /**
+     * Asynchrone Variante von {@link #getEmployeeById}, für Aufrufe aus der GUI.
+     * @author Elias Glauert
+     */
+    public CompletableFuture<Employee> getEmployeeByIdAsync(int id) {
+        return asyncEmployeeDao.submit(() -> getEmployeeById(id));
+    }
+
     public void getEmployeeQualifikation(Employee employee) {
         employee.getQualifications();
     }
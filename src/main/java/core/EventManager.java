@@ -13,7 +13,7 @@ import static core.Main.argsToString;
  * Diese Klasse verwaltet alle Events, die im Programm stattfinden.
  *
  * @author Elias Glauert
- * @version 1.6
+ * @version 1.8 (Mitarbeiter-Cache nur nach erfolgreicher Wiederherstellung neu laden)
  * @since 2025-07-05
  */
 public class EventManager {
@@ -80,7 +80,11 @@ public class EventManager {
             }
             case "loadBackup" -> {
                 System.out.println("   | " + event_id + " Event Creation");
-                new Event_LoadBackup(new Object[]{mainManager, backupManager});
+                Event_LoadBackup loadBackup = new Event_LoadBackup(new Object[]{mainManager, backupManager});
+                // Der Cache kennt sonst weiter die Mitarbeiter vor der Wiederherstellung
+                if (loadBackup.isSuccessful()) {
+                    employeeManager.reloadAfterRestore();
+                }
             }
             case "moveToHomeScreen" -> {
                 callEvent("changeView", new Object[]{new WelcomeView(employeeManager)});
@@ -4,14 +4,14 @@ import gui.views.LoginView;
 import model.db.Employee;
 import util.PersistentInformationReader;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * LoginManager der den Login-Prozess verwaltet.
  *
  * @author Elias Glauert
- * @version 1.4
+ * @version 1.5
  * @since 2025-07-11
  */
 public class LoginManager {
@@ -47,16 +47,32 @@ public class LoginManager {
         System.out.println("Anmeldeversuch mit Daten:");
         System.out.println(" |  - username='" + username + "'");
 
-        // Verwende die List-Schnittstelle, um flexibler zu sein
-        List<String> fields = new ArrayList<>();
-        List<String> contents = new ArrayList<>();
-        fields.add("username");
-        contents.add(username);
-
         // Findet den Mitarbeiter basierend auf dem Benutzernamen
-        // Weist die zurückgegebene List<Employee> der Variablen zu
-        List<Employee> employees = employeeManager.findEmployees(fields, contents);
+        List<Employee> employees = employeeManager.findEmployees(List.of("username"), List.of(username));
+        return checkCredentials(employees, password);
+    }
+
+    /**
+     * Asynchrone Variante von {@link #attemptLogin}, die GUI bleibt während der Datenbankabfrage bedienbar.
+     *
+     * @param username Nutzername, welcher überprüft werden soll
+     * @param password Passwort, welches überprüft werden soll
+     * @return Ein Future mit dem Status des Anmeldeversuchs
+     * @author Elias Glauert
+     */
+    public CompletableFuture<Integer> attemptLoginAsync(String username, String password) {
+        System.out.println("Anmeldeversuch mit Daten:");
+        System.out.println(" |  - username='" + username + "'");
+
+        return employeeManager.findEmployeesAsync(List.of("username"), List.of(username))
+                .thenApply(employees -> checkCredentials(employees, password));
+    }
 
+    /**
+     * Prüft das Passwort gegen den gefundenen Mitarbeiter und merkt sich bei Erfolg den angemeldeten Benutzer.
+     * @author Elias Glauert
+     */
+    private int checkCredentials(List<Employee> employees, String password) {
         // Geht zurück, wenn der Benutzername nicht vergeben ist
         if (employees.isEmpty()) {
             System.out.println(" | Benutzername nicht gefunden");
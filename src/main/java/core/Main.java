@@ -5,6 +5,7 @@ import db.dao.EmployeeDao;
 import gui.GuiManager;
 import gui.views.LoginView;
 import util.EmployeeCreationService;
+import util.PersistentInformationReader;
 
 import java.io.IOException;
 
@@ -13,7 +14,7 @@ import java.io.IOException;
  * Diese Klasse ist der Startpunkt für die gesamte Anwendung.
  *
  * @author Dorian Gläske, Elias Glauert
- * @version 1.8
+ * @version 1.10 (regelmäßigen Abgleich vor dem Trennen der Datenbank beenden)
  * @since 2025-07-05
  */
 public class Main {
@@ -24,6 +25,12 @@ public class Main {
     private static DatabaseManager dbManager;
     private static DatabaseManager backupManager;
     private static LoginManager loginManager;
+    private static EmployeeManager employeeManager;
+
+    /**
+     * Abstand, in dem der Mitarbeiter-Cache mit Änderungen anderer Instanzen auf derselben Datenbank abgeglichen wird.
+     */
+    private static final long employee_refresh_seconds = 30;
 
     /**
      * Die main-Methode ist der Startpunkt des Programms.
@@ -44,7 +51,7 @@ public class Main {
 
         // EmployeeManager UND EmployeeDao initialisieren, die sich gegenseitig benötigen
         // Beachte: Der EmployeeManager-Konstruktor benötigt den EmployeeDao
-        EmployeeManager employeeManager = new EmployeeManager(null, dbManager); // Temporäre Initialisierung ohne DAO
+        employeeManager = new EmployeeManager(null, dbManager); // Temporäre Initialisierung ohne DAO
         EmployeeDao employeeDao = new EmployeeDao(dbManager, employeeManager);
         employeeManager.setEmployeeDao(employeeDao);// Jetzt den DAO setzen
         System.out.println("Dao gestzt"+employeeDao);
@@ -56,6 +63,7 @@ public class Main {
 
         // Mitarbeiter aus der DB in den EmployeeManager laden
         employeeManager.setUpEmployees();
+        employeeManager.startPeriodicRefresh(employee_refresh_seconds);
         employeeManager.saveEmployeesToTxt("Employee_Info.txt"); // Dateiendung hinzugefügt
 
         // Andere Manager und GUI initialisieren
@@ -93,13 +101,16 @@ public class Main {
 
     /**
      * Beendet das Programm, nachdem die Datenbankverbindungen getrennt wurden und der User ausgeloggt wurde.
+     * Der regelmäßige Abgleich wird vorher beendet, da er die Datenbank über getConnection() sonst wieder öffnen würde.
      * @author Elias Glauert
      */
     public static void exitProgram() {
         System.out.println("\nStarting Exit Process...");
+        employeeManager.stopPeriodicRefresh();
         dbManager.disconnect();
         backupManager.disconnect();
         loginManager.logout();
+        PersistentInformationReader.flush();
         System.exit(0);
     }
 }
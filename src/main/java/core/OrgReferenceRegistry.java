@@ -0,0 +1,121 @@
+package core;
+
+import model.db.Employee;
+import model.json.Department;
+import model.json.Role;
+import model.json.Team;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kanonische Verweise auf die Unternehmensstruktur für geladene Mitarbeiter.
+ * Abteilungs-, Team- und Rollen-IDs sowie der Beschäftigungsstatus werden beim Laden auf eine gemeinsame String-Instanz
+ * abgebildet, sodass tausende Mitarbeiter nicht jeweils eigene Kopien derselben wenigen IDs halten.
+ * Für bekannte IDs ist das die Instanz aus dem Department-, Team- bzw. Role-Objekt des CompanyStructureManagers.
+ * <p>
+ * Diese Objekte werden zusätzlich direkt am Mitarbeiter abgelegt, Views kommen so ohne erneutes Nachschlagen an Namen.
+ * Klasse wird statisch verwendet.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public final class OrgReferenceRegistry {
+
+    /**
+     * Wird erst beim ersten Zugriff aus dem CompanyStructureManager befüllt, damit das Einlesen der JSON-Dateien
+     * nicht schon beim Laden der Klasse passiert.
+     */
+    private static final class Structure {
+        private static final Map<String, Department> departments = new HashMap<>();
+        private static final Map<String, Team> teams = new HashMap<>();
+        private static final Map<String, Role> roles = new HashMap<>();
+
+        static {
+            try {
+                CompanyStructureManager manager = CompanyStructureManager.getInstance();
+                for (Department department : manager.getAllDepartments()) {
+                    departments.put(department.getDepartmentId(), department);
+                }
+                for (Team team : manager.getAllTeams()) {
+                    teams.put(team.getTeamId(), team);
+                }
+                for (Role role : manager.getAllRoles()) {
+                    roles.put(role.getroleId(), role);
+                }
+            } catch (IOException e) {
+                System.err.println("OrgReferenceRegistry - Unternehmensstruktur konnte nicht geladen werden, IDs werden nur zusammengefasst: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static final Map<String, String> canonical_values = new ConcurrentHashMap<>();
+
+    private OrgReferenceRegistry() {}
+
+    /**
+     * Gibt die gemeinsame Instanz eines Wertes zurück. Gedacht für Werte mit wenigen Ausprägungen wie IDs und Status.
+     * @param value Der gelesene Wert, darf null sein.
+     * @return Eine gleiche String-Instanz, die von allen Mitarbeitern geteilt wird.
+     * @author Elias Glauert
+     */
+    public static String intern(String value) {
+        if (value == null) return null;
+        String canonical = canonical_values.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    public static Department department(String departmentId) {
+        return departmentId == null ? null : Structure.departments.get(departmentId);
+    }
+
+    public static Team team(String teamId) {
+        return teamId == null ? null : Structure.teams.get(teamId);
+    }
+
+    public static Role role(String roleId) {
+        return roleId == null ? null : Structure.roles.get(roleId);
+    }
+
+    /**
+     * Ersetzt die Struktur-IDs und den Status eines Mitarbeiters durch ihre gemeinsamen Instanzen und hängt
+     * die passenden Department-, Team- und Role-Objekte an. Verändert den Änderungsstatus des Mitarbeiters nicht.
+     * @param employee Ein frisch geladener Mitarbeiter.
+     * @author Elias Glauert
+     */
+    public static void attach(Employee employee) {
+        Department department = department(employee.getDepartmentId());
+        Team team = team(employee.getTeamId());
+        Role role = role(employee.getRoleId());
+
+        // Die Setter markieren gleiche Werte nicht als geändert, tauschen aber die Instanz aus
+        employee.setEmploymentStatus(intern(employee.getEmploymentStatus()));
+        employee.setDepartmentId(department != null ? department.getDepartmentId() : intern(employee.getDepartmentId()));
+        employee.setTeamId(team != null ? team.getTeamId() : intern(employee.getTeamId()));
+        employee.setRoleId(role != null ? role.getroleId() : intern(employee.getRoleId()));
+        employee.setOrgReferences(department, team, role);
+    }
+
+    /**
+     * Abteilung eines Mitarbeiters. Wurde sie nach einer Änderung der ID noch nicht aufgelöst, passiert das hier einmalig.
+     * @return Die Abteilung oder null, wenn die ID unbekannt ist.
+     */
+    public static Department departmentOf(Employee employee) {
+        if (employee.getDepartment() == null && employee.getDepartmentId() != null) attach(employee);
+        return employee.getDepartment();
+    }
+
+    public static Team teamOf(Employee employee) {
+        if (employee.getTeam() == null && employee.getTeamId() != null) attach(employee);
+        return employee.getTeam();
+    }
+
+    public static Role roleOf(Employee employee) {
+        if (employee.getRole() == null && employee.getRoleId() != null) attach(employee);
+        return employee.getRole();
+    }
+}
@@ -0,0 +1,292 @@
+package core.cache;
+
+import model.db.Employee;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Zwischenspeicher für alle geladenen Mitarbeiter mit Hash-Indizes auf ID und Benutzername.
+ * Die E-Mail ist in der Datenbank nicht eindeutig und wird deshalb nicht indiziert.
+ * Änderungen werden direkt auf den Cache angewendet, sodass nicht nach jeder Änderung die ganze Tabelle neu geladen werden muss.
+ * <p>
+ * Der Inhalt liegt in einem unveränderlichen {@link Snapshot}. Schreibende Methoden bauen einen neuen Snapshot und
+ * veröffentlichen ihn atomar, lesende Methoden arbeiten ohne Sperre auf dem jeweils aktuellen Snapshot.
+ * Ein Leser sieht dadurch nie einen halb ersetzten Cache, und values() muss keine Kopie mehr anlegen.
+ * Die Mitarbeiter-Objekte selbst werden dabei nicht kopiert. Ein neuer Snapshot übernimmt alle Indizes, deren
+ * Einträge sich nicht ändern, unverändert vom vorherigen. Speichern eines bereits im Cache liegenden Mitarbeiters
+ * ohne neuen Benutzernamen kopiert daher gar nichts. Nur Hinzufügen, Löschen und Ersetzen durch ein neues Objekt
+ * kosten eine Kopie der betroffenen Indizes, mehrere solcher Änderungen lassen sich über apply zusammenfassen.
+ *
+ * @author Elias Glauert
+ * @version 1.4 (unveränderte Indizes werden nicht mehr kopiert)
+ * @since 2025-08-12
+ */
+public class EmployeeCache {
+
+    /**
+     * Ein unveränderlicher Stand des Caches.
+     * @param version Wird bei jeder Änderung um eins erhöht.
+     * @param loaded Ob der Cache schon einmal vollständig über replaceAll geladen wurde.
+     * @param employees Alle Mitarbeiter in der Reihenfolge, in der sie geladen wurden.
+     * @param byId Index auf die ID.
+     * @param byUsername Index auf den Benutzernamen.
+     * @param indexedUsernames Benutzername, unter dem ein Mitarbeiter zuletzt indiziert wurde. Wird gebraucht, weil die
+     *                         Views Mitarbeiter-Objekte direkt verändern, bevor sie gespeichert werden.
+     */
+    public record Snapshot(long version,
+                           boolean loaded,
+                           List<Employee> employees,
+                           Map<Integer, Employee> byId,
+                           Map<String, Employee> byUsername,
+                           Map<Integer, String> indexedUsernames) {}
+
+    private static final Snapshot empty_snapshot = new Snapshot(0, false, List.of(), Map.of(), Map.of(), Map.of());
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(empty_snapshot);
+
+    /**
+     * Schreiber werden weiterhin nacheinander ausgeführt, damit keine Änderung verloren geht und die Listener
+     * die Änderungen in derselben Reihenfolge sehen, in der die Snapshots veröffentlicht werden.
+     */
+    private final Object writeLock = new Object();
+
+    private final List<EmployeeCacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Ersetzt den gesamten Inhalt des Caches, z.B. nach einem vollständigen Laden aus der Datenbank.
+     * @param employees Alle Mitarbeiter.
+     * @author Elias Glauert
+     */
+    public void replaceAll(Collection<Employee> employees) {
+        synchronized (writeLock) {
+            Builder builder = new Builder(empty_snapshot);
+            builder.loaded = true;
+            for (Employee employee : employees) {
+                builder.put(employee);
+            }
+            Snapshot published = publish(builder);
+            for (EmployeeCacheListener listener : listeners) listener.onReload(published.employees());
+        }
+    }
+
+    /**
+     * Fügt einen Mitarbeiter hinzu oder ersetzt den Eintrag mit derselben ID und aktualisiert die Indizes.
+     * @param employee Der neue oder geänderte Mitarbeiter.
+     * @author Elias Glauert
+     */
+    public void put(Employee employee) {
+        putAll(List.of(employee));
+    }
+
+    /**
+     * Wie put, veröffentlicht aber für alle Mitarbeiter zusammen nur einen neuen Snapshot.
+     * @param employees Die neuen oder geänderten Mitarbeiter.
+     * @author Elias Glauert
+     */
+    public void putAll(Collection<Employee> employees) {
+        apply(employees, List.of());
+    }
+
+    /**
+     * Übernimmt neue oder geänderte Mitarbeiter und entfernt gelöschte in einem Schritt, z.B. ein Delta aus der Datenbank.
+     * Dafür wird jeder betroffene Index höchstens einmal kopiert und nur ein neuer Snapshot veröffentlicht.
+     * @param employees Die neuen oder geänderten Mitarbeiter.
+     * @param removedIds IDs der zu entfernenden Mitarbeiter, unbekannte IDs werden ignoriert.
+     * @author Elias Glauert
+     */
+    public void apply(Collection<Employee> employees, Collection<Integer> removedIds) {
+        if (employees.isEmpty() && removedIds.isEmpty()) return;
+        synchronized (writeLock) {
+            Builder builder = new Builder(current.get());
+            for (Employee employee : employees) {
+                builder.put(employee);
+            }
+            List<Integer> removed = new ArrayList<>(removedIds.size());
+            for (int id : removedIds) {
+                if (builder.remove(id) != null) removed.add(id);
+            }
+            if (employees.isEmpty() && removed.isEmpty()) return;
+
+            publish(builder);
+            for (Employee employee : employees) {
+                for (EmployeeCacheListener listener : listeners) listener.onPut(employee);
+            }
+            for (int id : removed) {
+                for (EmployeeCacheListener listener : listeners) listener.onRemove(id);
+            }
+        }
+    }
+
+    /**
+     * Entfernt einen Mitarbeiter aus dem Cache.
+     * @param id ID des Mitarbeiters.
+     * @return Der entfernte Mitarbeiter oder null.
+     * @author Elias Glauert
+     */
+    public Employee remove(int id) {
+        synchronized (writeLock) {
+            Snapshot snapshot = current.get();
+            if (!snapshot.byId().containsKey(id)) return null;
+
+            Builder builder = new Builder(snapshot);
+            Employee removed = builder.remove(id);
+            publish(builder);
+            for (EmployeeCacheListener listener : listeners) listener.onRemove(id);
+            return removed;
+        }
+    }
+
+    /**
+     * Registriert eine Struktur, die bei jeder Änderung am Cache mitgepflegt wird.
+     * Ist der Cache bereits geladen, bekommt sie sofort den aktuellen Inhalt.
+     * @param listener Die zu registrierende Struktur.
+     * @author Elias Glauert
+     */
+    public void addListener(EmployeeCacheListener listener) {
+        synchronized (writeLock) {
+            listeners.add(listener);
+            Snapshot snapshot = current.get();
+            if (snapshot.loaded()) listener.onReload(snapshot.employees());
+        }
+    }
+
+    /**
+     * Der aktuelle Stand des Caches. Mehrere Zugriffe auf denselben Snapshot sehen garantiert denselben Inhalt.
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Version des aktuellen Snapshots. Ändert sie sich, hat sich der Inhalt des Caches geändert, abgeleitete
+     * Zwischenergebnisse können also verworfen werden.
+     */
+    public long getSnapshotVersion() {
+        return current.get().version();
+    }
+
+    public Employee getById(int id) {
+        return current.get().byId().get(id);
+    }
+
+    public Employee getByUsername(String username) {
+        return current.get().byUsername().get(username);
+    }
+
+    /**
+     * @return Alle Mitarbeiter in der Reihenfolge, in der sie geladen wurden. Die Liste ist unveränderlich und wird nicht kopiert.
+     */
+    public List<Employee> values() {
+        return current.get().employees();
+    }
+
+    public int size() {
+        return current.get().employees().size();
+    }
+
+    public boolean isLoaded() {
+        return current.get().loaded();
+    }
+
+    private Snapshot publish(Builder builder) {
+        Snapshot published = builder.build(current.get().version() + 1);
+        current.set(published);
+        return published;
+    }
+
+    /**
+     * Änderungen an einem Snapshot, aus denen der nächste Snapshot gebaut wird.
+     * Jeder Index wird erst beim ersten Schreibzugriff kopiert, unveränderte Indizes teilt der neue Snapshot mit dem alten.
+     */
+    private static final class Builder {
+
+        private final Snapshot base;
+        private Map<Integer, Employee> byId;
+        private Map<String, Employee> byUsername;
+        private Map<Integer, String> indexedUsernames;
+        private boolean loaded;
+
+        Builder(Snapshot base) {
+            this.base = base;
+            loaded = base.loaded();
+        }
+
+        /**
+         * Fügt einen Mitarbeiter hinzu oder ersetzt den Eintrag mit derselben ID. Ein ersetzter Mitarbeiter behält
+         * seine Position in der Reihenfolge.
+         */
+        void put(Employee employee) {
+            int id = employee.getId();
+            Employee existing = byId().get(id);
+            String previousUsername = indexedUsernames().get(id);
+            String username = employee.getUsername();
+            // Das schon indizierte Objekt mit unverändertem Benutzernamen ändert keinen Index
+            if (existing == employee && Objects.equals(previousUsername, username)) return;
+
+            if (existing != employee) writableById().put(id, employee);
+            if (previousUsername != null && byUsername().get(previousUsername) == existing) {
+                writableByUsername().remove(previousUsername);
+            }
+            if (username != null) writableByUsername().put(username, employee);
+            writableIndexedUsernames().put(id, username);
+        }
+
+        /**
+         * Entfernt einen Mitarbeiter samt seinem Benutzernamen-Eintrag.
+         * @return Der entfernte Mitarbeiter oder null, falls die ID unbekannt ist.
+         */
+        Employee remove(int id) {
+            Employee existing = byId().get(id);
+            if (existing == null) return null;
+            String username = indexedUsernames().get(id);
+            if (username != null && byUsername().get(username) == existing) writableByUsername().remove(username);
+            writableIndexedUsernames().remove(id);
+            writableById().remove(id);
+            return existing;
+        }
+
+        Snapshot build(long version) {
+            return new Snapshot(version, loaded,
+                    byId == null ? base.employees() : Collections.unmodifiableList(new ArrayList<>(byId.values())),
+                    byId == null ? base.byId() : Collections.unmodifiableMap(byId),
+                    byUsername == null ? base.byUsername() : Collections.unmodifiableMap(byUsername),
+                    indexedUsernames == null ? base.indexedUsernames() : Collections.unmodifiableMap(indexedUsernames));
+        }
+
+        private Map<Integer, Employee> byId() {
+            return byId != null ? byId : base.byId();
+        }
+
+        private Map<String, Employee> byUsername() {
+            return byUsername != null ? byUsername : base.byUsername();
+        }
+
+        private Map<Integer, String> indexedUsernames() {
+            return indexedUsernames != null ? indexedUsernames : base.indexedUsernames();
+        }
+
+        private Map<Integer, Employee> writableById() {
+            if (byId == null) byId = new LinkedHashMap<>(base.byId());
+            return byId;
+        }
+
+        private Map<String, Employee> writableByUsername() {
+            if (byUsername == null) byUsername = new HashMap<>(base.byUsername());
+            return byUsername;
+        }
+
+        private Map<Integer, String> writableIndexedUsernames() {
+            if (indexedUsernames == null) indexedUsernames = new HashMap<>(base.indexedUsernames());
+            return indexedUsernames;
+        }
+    }
+}
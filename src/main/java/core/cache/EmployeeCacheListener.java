@@ -0,0 +1,34 @@
+package core.cache;
+
+import model.db.Employee;
+
+import java.util.Collection;
+
+/**
+ * Schnittstelle für Strukturen, die parallel zum EmployeeCache gepflegt werden (z.B. Indizes).
+ * Die Methoden werden nacheinander unter der Schreibsperre des Caches aufgerufen, nachdem der neue Snapshot veröffentlicht wurde.
+ *
+ * @author Elias Glauert
+ * @version 1.1 (Aufruf nach dem Veröffentlichen des Snapshots)
+ * @since 2025-08-12
+ */
+public interface EmployeeCacheListener {
+
+    /**
+     * Der gesamte Inhalt des Caches wurde ersetzt.
+     * @param employees Alle Mitarbeiter nach dem Neuladen.
+     */
+    void onReload(Collection<Employee> employees);
+
+    /**
+     * Ein Mitarbeiter wurde hinzugefügt oder geändert.
+     * @param employee Der aktuelle Stand des Mitarbeiters.
+     */
+    void onPut(Employee employee);
+
+    /**
+     * Ein Mitarbeiter wurde entfernt.
+     * @param id ID des entfernten Mitarbeiters.
+     */
+    void onRemove(int id);
+}
@@ -0,0 +1,334 @@
+package core.cache;
+
+import model.db.Employee;
+import model.db.EmployeeField;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Spaltenweise Ablage der Mitarbeiter für Auswertungen wie Kopfzahlen, Betriebszugehörigkeit und Verteilungen.
+ * Abteilung, Team, Rolle, Beschäftigungsstatus und Geschlecht werden über ein Wörterbuch pro Spalte als int-Code abgelegt,
+ * Einstellungs- und Geburtsdatum als Tag seit 1970-01-01. Eine Auswertung läuft dadurch als einfache Schleife über
+ * primitive Arrays, statt über alle Mitarbeiter-Objekte und deren Strings zu gehen.
+ * <p>
+ * Wird als Listener am EmployeeCache mitgepflegt. Beim Entfernen rückt die letzte Zeile in die entstandene Lücke,
+ * die Zeilen haben also keine feste Reihenfolge.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public class EmployeeColumnStore implements EmployeeCacheListener {
+
+    /**
+     * Spalten, die über ein Wörterbuch kodiert werden. Nur nach diesen Feldern kann gruppiert werden.
+     */
+    private static final List<EmployeeField> dictionary_fields = List.of(
+            EmployeeField.DEPARTMENT_ID,
+            EmployeeField.TEAM_ID,
+            EmployeeField.ROLE_ID,
+            EmployeeField.EMPLOYMENT_STATUS,
+            EmployeeField.GENDER);
+
+    /**
+     * Code für fehlende Werte in den Wörterbuch-Spalten.
+     */
+    private static final int no_code = -1;
+
+    /**
+     * Epoch-Tag für fehlende Datumswerte.
+     */
+    private static final int no_day = Integer.MIN_VALUE;
+
+    private static final int initial_capacity = 1024;
+
+    /**
+     * Zuordnung Wert -> Code für eine Spalte. Codes werden fortlaufend vergeben und nie wieder freigegeben,
+     * da es nur wenige verschiedene Werte gibt.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) return no_code;
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        int lookup(String value) {
+            if (value == null) return no_code;
+            return codes.getOrDefault(value, no_code);
+        }
+
+        String decode(int code) {
+            return code == no_code ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    private final Dictionary[] dictionaries = new Dictionary[dictionary_fields.size()];
+    private final Map<Integer, Integer> rowOf = new HashMap<>();
+
+    private int[] ids = new int[initial_capacity];
+    private int[][] codes = new int[dictionary_fields.size()][initial_capacity];
+    private int[] hireDays = new int[initial_capacity];
+    private int[] birthDays = new int[initial_capacity];
+    private int size = 0;
+
+    public EmployeeColumnStore() {
+        for (int i = 0; i < dictionaries.length; i++) {
+            dictionaries[i] = new Dictionary();
+        }
+    }
+
+    @Override
+    public synchronized void onReload(Collection<Employee> employees) {
+        rowOf.clear();
+        size = 0;
+        ensureCapacity(employees.size());
+        for (Employee employee : employees) {
+            write(append(employee.getId()), employee);
+        }
+    }
+
+    @Override
+    public synchronized void onPut(Employee employee) {
+        Integer row = rowOf.get(employee.getId());
+        write(row != null ? row : append(employee.getId()), employee);
+    }
+
+    @Override
+    public synchronized void onRemove(int id) {
+        Integer row = rowOf.remove(id);
+        if (row == null) return;
+
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            for (int[] column : codes) column[row] = column[last];
+            hireDays[row] = hireDays[last];
+            birthDays[row] = birthDays[last];
+            rowOf.put(ids[row], row);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Zählt die Mitarbeiter mit einem bestimmten Wert in einer Spalte.
+     * @param field Eine der kodierten Spalten, z.B. {@link EmployeeField#DEPARTMENT_ID}.
+     * @param value Der gesuchte Wert, null zählt die Mitarbeiter ohne Wert.
+     * @return Anzahl der Mitarbeiter.
+     * @author Elias Glauert
+     */
+    public synchronized int headcount(EmployeeField field, String value) {
+        int slot = slotOf(field);
+        int code = dictionaries[slot].lookup(value);
+        if (code == no_code && value != null) return 0;
+
+        int[] column = codes[slot];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (column[row] == code) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Verteilung der Mitarbeiter über die Werte einer Spalte.
+     * @param field Eine der kodierten Spalten.
+     * @return Anzahl je Wert, absteigend nach Anzahl sortiert. Mitarbeiter ohne Wert stehen unter dem Schlüssel null.
+     * @author Elias Glauert
+     */
+    public synchronized Map<String, Integer> distribution(EmployeeField field) {
+        int slot = slotOf(field);
+        int[] counts = countCodes(slot, null, no_code);
+        return toSortedMap(dictionaries[slot], counts);
+    }
+
+    /**
+     * Verteilung über eine Spalte, beschränkt auf Mitarbeiter mit einem bestimmten Wert in einer anderen Spalte,
+     * z.B. die Rollen innerhalb einer Abteilung.
+     * @param field Die Spalte, über die verteilt wird.
+     * @param filterField Die Spalte, nach der gefiltert wird.
+     * @param filterValue Der Wert, den filterField haben muss.
+     * @return Anzahl je Wert, absteigend nach Anzahl sortiert.
+     * @author Elias Glauert
+     */
+    public synchronized Map<String, Integer> distribution(EmployeeField field, EmployeeField filterField, String filterValue) {
+        int slot = slotOf(field);
+        int filterSlot = slotOf(filterField);
+        int filterCode = dictionaries[filterSlot].lookup(filterValue);
+        if (filterCode == no_code && filterValue != null) return new LinkedHashMap<>();
+
+        int[] counts = countCodes(slot, codes[filterSlot], filterCode);
+        return toSortedMap(dictionaries[slot], counts);
+    }
+
+    /**
+     * Durchschnittliche Betriebszugehörigkeit in Jahren.
+     * @param filterField Eine kodierte Spalte zum Einschränken oder null für alle Mitarbeiter.
+     * @param filterValue Der Wert, den filterField haben muss.
+     * @param asOf Stichtag, bis zu dem gerechnet wird.
+     * @return Durchschnitt in Jahren, 0 wenn kein Mitarbeiter mit Einstellungsdatum passt.
+     * @author Elias Glauert
+     */
+    public synchronized double averageTenureYears(EmployeeField filterField, String filterValue, LocalDate asOf) {
+        int[] filterColumn = null;
+        int filterCode = no_code;
+        if (filterField != null) {
+            int filterSlot = slotOf(filterField);
+            filterCode = dictionaries[filterSlot].lookup(filterValue);
+            if (filterCode == no_code && filterValue != null) return 0;
+            filterColumn = codes[filterSlot];
+        }
+
+        int today = (int) asOf.toEpochDay();
+        long totalDays = 0;
+        int counted = 0;
+        for (int row = 0; row < size; row++) {
+            if (filterColumn != null && filterColumn[row] != filterCode) continue;
+            int hired = hireDays[row];
+            if (hired == no_day || hired > today) continue;
+            totalDays += today - hired;
+            counted++;
+        }
+        return counted == 0 ? 0 : totalDays / 365.25 / counted;
+    }
+
+    /**
+     * Anzahl der Mitarbeiter je vollendeter Jahre Betriebszugehörigkeit.
+     * @param asOf Stichtag, bis zu dem gerechnet wird.
+     * @return Anzahl je Jahr, aufsteigend sortiert. Mitarbeiter ohne oder mit künftigem Einstellungsdatum fehlen.
+     * @author Elias Glauert
+     */
+    public synchronized Map<Integer, Integer> tenureDistribution(LocalDate asOf) {
+        return yearDistribution(hireDays, asOf);
+    }
+
+    /**
+     * Anzahl der Mitarbeiter je Alter in Jahren.
+     * @param asOf Stichtag, an dem das Alter bestimmt wird.
+     * @return Anzahl je Alter, aufsteigend sortiert.
+     * @author Elias Glauert
+     */
+    public synchronized Map<Integer, Integer> ageDistribution(LocalDate asOf) {
+        return yearDistribution(birthDays, asOf);
+    }
+
+    private Map<Integer, Integer> yearDistribution(int[] days, LocalDate asOf) {
+        Map<Integer, Integer> counts = new TreeMap<>();
+        for (int row = 0; row < size; row++) {
+            if (days[row] == no_day) continue;
+            LocalDate start = LocalDate.ofEpochDay(days[row]);
+            if (start.isAfter(asOf)) continue;
+            counts.merge(start.until(asOf).getYears(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private int[] countCodes(int slot, int[] filterColumn, int filterCode) {
+        int[] column = codes[slot];
+        // Letzter Eintrag zählt die Zeilen ohne Wert
+        int[] counts = new int[dictionaries[slot].size() + 1];
+        int nullSlot = counts.length - 1;
+        for (int row = 0; row < size; row++) {
+            if (filterColumn != null && filterColumn[row] != filterCode) continue;
+            int code = column[row];
+            counts[code == no_code ? nullSlot : code]++;
+        }
+        return counts;
+    }
+
+    private static Map<String, Integer> toSortedMap(Dictionary dictionary, int[] counts) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (int code = 0; code < dictionary.size(); code++) {
+            if (counts[code] > 0) entries.add(Map.entry(dictionary.decode(code), counts[code]));
+        }
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        int missing = counts[counts.length - 1];
+        if (missing > 0) result.put(null, missing);
+        return result;
+    }
+
+    private static int slotOf(EmployeeField field) {
+        int slot = dictionary_fields.indexOf(field);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Feld " + field + " ist nicht spaltenweise kodiert, möglich sind: " + dictionary_fields);
+        }
+        return slot;
+    }
+
+    private int append(int id) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        ids[row] = id;
+        rowOf.put(id, row);
+        return row;
+    }
+
+    private void write(int row, Employee employee) {
+        for (int slot = 0; slot < dictionaries.length; slot++) {
+            codes[slot][row] = dictionaries[slot].encode(valueOf(dictionary_fields.get(slot), employee));
+        }
+        hireDays[row] = toEpochDay(employee.getHireDate());
+        birthDays[row] = toEpochDay(employee.getDateOfBirth());
+    }
+
+    private static String valueOf(EmployeeField field, Employee employee) {
+        return switch (field) {
+            case DEPARTMENT_ID -> employee.getDepartmentId();
+            case TEAM_ID -> employee.getTeamId();
+            case ROLE_ID -> employee.getRoleId();
+            case EMPLOYMENT_STATUS -> employee.getEmploymentStatus();
+            case GENDER -> String.valueOf(employee.getGender());
+            default -> throw new IllegalArgumentException("Feld " + field + " ist nicht spaltenweise kodiert.");
+        };
+    }
+
+    /**
+     * Die Datumswerte eines Mitarbeiters liegen auf Mitternacht der lokalen Zeitzone, siehe EmployeeRowCodec.
+     */
+    private static int toEpochDay(Date date) {
+        if (date == null) return no_day;
+        return (int) Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) return;
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        for (int slot = 0; slot < codes.length; slot++) {
+            codes[slot] = Arrays.copyOf(codes[slot], capacity);
+        }
+        hireDays = Arrays.copyOf(hireDays, capacity);
+        birthDays = Arrays.copyOf(birthDays, capacity);
+    }
+}
@@ -0,0 +1,154 @@
+package core.cache;
+
+import model.db.Employee;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Index über die Vorgesetzten-Hierarchie (managerId) aller Mitarbeiter.
+ * Jeder Mitarbeiter bekommt über einen Euler-Durchlauf ein Intervall [eintritt, austritt] zugewiesen.
+ * Ein Mitarbeiter ist genau dann (direkter oder indirekter) Vorgesetzter eines anderen, wenn dessen Intervall
+ * im eigenen Intervall liegt, wodurch die Prüfung in O(1) beantwortet wird.
+ * <p>
+ * Ändert sich nur ein anderes Feld als die managerId, bleibt der Index unverändert. Strukturelle Änderungen markieren
+ * den Index als veraltet, er wird dann einmalig vor der nächsten Abfrage neu aufgebaut.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-12
+ */
+public class OrgHierarchyIndex implements EmployeeCacheListener {
+
+    /**
+     * Direkter Vorgesetzter je Mitarbeiter-ID (null, wenn keiner eingetragen ist).
+     */
+    private final Map<Integer, Integer> managerOf = new HashMap<>();
+
+    /**
+     * Euler-Intervall je Mitarbeiter-ID: [0] = Eintritt, [1] = Austritt.
+     */
+    private final Map<Integer, int[]> intervals = new HashMap<>();
+
+    /**
+     * Nächste freie Position hinter dem letzten vergebenen Intervall.
+     */
+    private int nextPosition = 0;
+
+    private boolean dirty = true;
+
+    @Override
+    public synchronized void onReload(Collection<Employee> employees) {
+        managerOf.clear();
+        for (Employee employee : employees) {
+            managerOf.put(employee.getId(), employee.getManagerId());
+        }
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void onPut(Employee employee) {
+        boolean known = managerOf.containsKey(employee.getId());
+        Integer previousManager = managerOf.put(employee.getId(), employee.getManagerId());
+        if (!known) {
+            if (employee.getManagerId() == null && !dirty) {
+                // Ein neuer Mitarbeiter ohne Vorgesetzten ist eine eigene Wurzel und kann hinten angehängt werden
+                intervals.put(employee.getId(), new int[]{nextPosition, nextPosition});
+                nextPosition++;
+            } else {
+                dirty = true;
+            }
+        } else if (!Objects.equals(previousManager, employee.getManagerId())) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public synchronized void onRemove(int id) {
+        managerOf.remove(id);
+        int[] interval = intervals.remove(id);
+        // Nur wenn der Mitarbeiter selbst Untergebene hatte, ändern sich andere Ketten
+        if (interval == null || interval[1] > interval[0]) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Prüft, ob ein Mitarbeiter direkter oder indirekter Vorgesetzter eines anderen ist.
+     * @param managerId ID des möglichen Vorgesetzten.
+     * @param employeeId ID des Mitarbeiters, von dem die Kette ausgeht.
+     * @return true, wenn managerId in der Vorgesetzten-Kette von employeeId vorkommt.
+     * @author Elias Glauert
+     */
+    public synchronized boolean isManagerOf(int managerId, int employeeId) {
+        if (managerId == employeeId) return false;
+        if (dirty) rebuild();
+
+        int[] manager = intervals.get(managerId);
+        int[] employee = intervals.get(employeeId);
+        if (manager != null && employee != null) {
+            return manager[0] < employee[0] && employee[1] <= manager[1];
+        }
+        // Mitarbeiter in einem Zyklus haben kein Intervall, hier wird die Kette direkt abgelaufen
+        return walkChain(managerId, employeeId);
+    }
+
+    /**
+     * Baut alle Intervalle über einen iterativen Tiefendurchlauf ab allen Wurzeln neu auf.
+     * Wurzeln sind Mitarbeiter ohne Vorgesetzten oder mit einem Vorgesetzten, der nicht (mehr) existiert.
+     * @author Elias Glauert
+     */
+    private void rebuild() {
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        List<Integer> roots = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : managerOf.entrySet()) {
+            Integer manager = entry.getValue();
+            if (manager == null || !managerOf.containsKey(manager) || manager.equals(entry.getKey())) {
+                roots.add(entry.getKey());
+            } else {
+                children.computeIfAbsent(manager, key -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        intervals.clear();
+        int position = 0;
+        ArrayDeque<int[]> stack = new ArrayDeque<>(); // [id, nächstes Kind]
+        for (int root : roots) {
+            intervals.put(root, new int[]{position, position});
+            position++;
+            stack.push(new int[]{root, 0});
+            while (!stack.isEmpty()) {
+                int[] frame = stack.peek();
+                List<Integer> kids = children.getOrDefault(frame[0], List.of());
+                if (frame[1] < kids.size()) {
+                    int child = kids.get(frame[1]++);
+                    intervals.put(child, new int[]{position, position});
+                    position++;
+                    stack.push(new int[]{child, 0});
+                } else {
+                    stack.pop();
+                    intervals.get(frame[0])[1] = position - 1;
+                }
+            }
+        }
+        nextPosition = position;
+        dirty = false;
+    }
+
+    private boolean walkChain(int managerId, int employeeId) {
+        Set<Integer> visited = new HashSet<>();
+        Integer current = managerOf.get(employeeId);
+        while (current != null && visited.add(current)) {
+            if (current == managerId) return true;
+            current = managerOf.get(current);
+        }
+        return false;
+    }
+}
@@ -3,13 +3,15 @@ package core.events;
 import db.DatabaseManager;
 import util.PersistentInformationReader;
 
+import javax.swing.*;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Event für das Löschen von Benachrichtigungen.
  * @author Elias Glauert
- * @version 1.1
+ * @version 1.2 (Backup-Datum nur nach erfolgreichem Kopieren setzen)
  * @since 2025-07-10
  */
 public class Event_CreateBackup extends Event {
@@ -25,7 +27,17 @@ public class Event_CreateBackup extends Event {
 
         DatabaseManager mainManager = (DatabaseManager) args[0];
         DatabaseManager otherManager = (DatabaseManager) args[1];
-        mainManager.copyDatabaseToOtherDbManager(otherManager);
+        try {
+            mainManager.copyDatabaseToOtherDbManager(otherManager);
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Erstellen des Backups: " + e.getMessage());
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null,
+                    "Das Backup konnte nicht erstellt werden: " + e.getMessage(),
+                    "Fehler beim Erstellen des Backups",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
         LocalDateTime now = LocalDateTime.now();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern(PersistentInformationReader.getDatePattern());
         String formattedDate = now.format(formatter);
@@ -2,14 +2,20 @@ package core.events;
 
 import db.DatabaseManager;
 
+import javax.swing.*;
+import java.sql.SQLException;
+
 /**
- * Event für das Löschen von Benachrichtigungen.
+ * Event für das Laden eines Backups.
+ * Schlägt das Laden fehl, bleibt die Hauptdatenbank unverändert und der Fehler wird angezeigt.
  * @author Elias Glauert
- * @version 1.0
+ * @version 1.1 (Fehler beim Laden werden angezeigt statt verschluckt)
  * @since 2025-07-10
  */
 public class Event_LoadBackup extends Event {
 
+    private boolean successful;
+
     /**
      * Konstruktor für Event.
      *
@@ -21,7 +27,25 @@ public class Event_LoadBackup extends Event {
 
         DatabaseManager mainManager = (DatabaseManager) args[0];
         DatabaseManager otherManager = (DatabaseManager) args[1];
-        otherManager.copyDatabaseToOtherDbManager(mainManager);
+        try {
+            otherManager.copyDatabaseToOtherDbManager(mainManager);
+            successful = true;
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Laden des Backups: " + e.getMessage());
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null,
+                    "Das Backup konnte nicht geladen werden: " + e.getMessage() + "\nDie bisherigen Daten bleiben erhalten.",
+                    "Fehler beim Laden des Backups",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * @return true, wenn das Backup vollständig in die Hauptdatenbank kopiert wurde.
+     * @author Elias Glauert
+     */
+    public boolean isSuccessful() {
+        return successful;
     }
 
 }
@@ -0,0 +1,345 @@
+package core.search;
+
+import core.cache.EmployeeCacheListener;
+import model.db.Employee;
+import model.db.EmployeeSummary;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Invertierter Index über Vorname, Nachname und E-Mail aller Mitarbeiter.
+ * Jedes Token zeigt auf die IDs der Mitarbeiter, in denen es vorkommt; über den PrefixTrie werden Suchbegriffe als
+ * Präfixe aufgelöst. Zusätzlich gibt es eine Liste je Abteilung, sodass Stichwort- und Abteilungsfilter ohne
+ * Durchlauf über alle Mitarbeiter beantwortet werden. Die Listen sind nach ID sortiert: Eine Suche läuft die
+ * kleinste Liste in ID-Reihenfolge ab, prüft die übrigen Bedingungen direkt am Mitarbeiter und reicht Treffer sofort
+ * weiter, ohne vorher eine Schnittmenge aufzubauen.
+ * Der Index wird als Listener des EmployeeCaches bei jeder Änderung mitgepflegt. Je Mitarbeiter wird nur eine
+ * EmployeeSummary gehalten, sodass der Index auch ohne geladenen Cache direkt aus der Datenbank befüllt werden kann.
+ * <p>
+ * Suchen laufen auf virtuellen Threads und teilen sich eine Lesesperre, Änderungen nehmen die Schreibsperre.
+ * Ein ReentrantReadWriteLock statt synchronized, damit wartende virtuelle Threads ihren Trägerthread freigeben.
+ *
+ * @author Elias Glauert
+ * @version 1.3 (Treffer werden beim Ablaufen der kleinsten Liste gestreamt)
+ * @since 2025-08-13
+ */
+public class EmployeeSearchIndex implements EmployeeCacheListener {
+
+    private final Map<String, NavigableSet<Integer>> postings = new HashMap<>();
+    private final Map<String, NavigableSet<Integer>> departmentPostings = new HashMap<>();
+    private final PrefixTrie trie = new PrefixTrie();
+
+    /**
+     * Zuletzt indizierter Stand je Mitarbeiter nach ID sortiert, damit alte Einträge bei Änderungen entfernt werden
+     * können und eine Suche ohne Bedingung alle Mitarbeiter in ID-Reihenfolge ablaufen kann.
+     */
+    private final NavigableMap<Integer, EmployeeSummary> summaries = new TreeMap<>();
+    private final Map<Integer, Set<String>> tokensById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded = false;
+
+    @Override
+    public void onReload(Collection<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Employee employee : employees) {
+                add(EmployeeSummary.of(employee));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Befüllt den Index vollständig aus Zusammenfassungen, z.B. direkt aus der Datenbank.
+     * @param employeeSummaries Alle Mitarbeiter als Zusammenfassung.
+     * @author Elias Glauert
+     */
+    public void replaceAll(Collection<EmployeeSummary> employeeSummaries) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (EmployeeSummary summary : employeeSummaries) {
+                add(summary);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPut(Employee employee) {
+        EmployeeSummary summary = EmployeeSummary.of(employee);
+        lock.writeLock().lock();
+        try {
+            remove(employee.getId());
+            add(summary);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(int id) {
+        lock.writeLock().lock();
+        try {
+            remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sucht Mitarbeiter, bei denen jedes Wort des Suchbegriffs Präfix eines Tokens aus Name oder E-Mail ist.
+     * @param keyword Suchbegriff, leer oder null für alle.
+     * @param departmentId Abteilung, auf die eingeschränkt wird, oder null für alle.
+     * @return Die passenden Mitarbeiter, aufsteigend nach ID sortiert.
+     * @author Elias Glauert
+     */
+    public List<EmployeeSummary> search(String keyword, String departmentId) {
+        List<EmployeeSummary> matches = new ArrayList<>();
+        forEachMatch(keyword, departmentId, matches::add);
+        return matches;
+    }
+
+    /**
+     * Wie {@link #search}, reicht die Treffer aber einzeln weiter, ohne vorher eine Ergebnisliste aufzubauen.
+     * Der Empfänger läuft unter der Lesesperre und darf daher nicht blockieren.
+     * @param keyword Suchbegriff, leer oder null für alle.
+     * @param departmentId Abteilung, auf die eingeschränkt wird, oder null für alle.
+     * @param consumer Bekommt die Treffer aufsteigend nach ID. Gibt er false zurück, endet die Suche.
+     * @return Anzahl der weitergereichten Treffer.
+     * @author Elias Glauert
+     */
+    public int forEachMatch(String keyword, String departmentId, Predicate<EmployeeSummary> consumer) {
+        List<String> prefixes = tokenize(keyword);
+
+        lock.readLock().lock();
+        try {
+            // Jede Bedingung als sortierte Listen, deren Vereinigung sie erfüllt
+            List<List<NavigableSet<Integer>>> constraints = new ArrayList<>();
+            if (departmentId != null) {
+                NavigableSet<Integer> ids = departmentPostings.get(departmentId);
+                if (ids == null) return 0;
+                constraints.add(List.of(ids));
+            }
+            for (String prefix : prefixes) {
+                List<NavigableSet<Integer>> lists = postingsForPrefix(prefix);
+                if (lists.isEmpty()) return 0;
+                constraints.add(lists);
+            }
+
+            Iterator<Integer> candidates = constraints.isEmpty()
+                    ? summaries.keySet().iterator()
+                    : new MergedIds(constraints.stream().min(Comparator.comparingLong(EmployeeSearchIndex::sizeOf)).get());
+            int count = 0;
+            while (candidates.hasNext()) {
+                EmployeeSummary summary = summaries.get(candidates.next());
+                if (!matches(summary, departmentId, prefixes)) continue;
+                count++;
+                if (!consumer.test(summary)) break;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int getTokenCount() {
+        lock.readLock().lock();
+        try {
+            return trie.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<NavigableSet<Integer>> postingsForPrefix(String prefix) {
+        List<NavigableSet<Integer>> lists = new ArrayList<>();
+        for (String token : trie.tokensWithPrefix(prefix)) {
+            lists.add(postings.get(token));
+        }
+        return lists;
+    }
+
+    private static long sizeOf(List<NavigableSet<Integer>> lists) {
+        long size = 0;
+        for (NavigableSet<Integer> ids : lists) {
+            size += ids.size();
+        }
+        return size;
+    }
+
+    /**
+     * Prüft alle Bedingungen direkt am Mitarbeiter, statt in den Listen der anderen Bedingungen nachzuschlagen.
+     */
+    private boolean matches(EmployeeSummary summary, String departmentId, List<String> prefixes) {
+        if (departmentId != null && !departmentId.equals(summary.departmentId())) return false;
+        Set<String> tokens = tokensById.get(summary.id());
+        for (String prefix : prefixes) {
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(prefix)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    private void clear() {
+        postings.clear();
+        departmentPostings.clear();
+        summaries.clear();
+        tokensById.clear();
+        trie.clear();
+    }
+
+    private void add(EmployeeSummary summary) {
+        int id = summary.id();
+        Set<String> tokens = tokensOf(summary);
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> {
+                trie.add(key);
+                return new TreeSet<>();
+            }).add(id);
+        }
+        summaries.put(id, summary);
+        tokensById.put(id, tokens);
+
+        if (summary.departmentId() != null) {
+            departmentPostings.computeIfAbsent(summary.departmentId(), key -> new TreeSet<>()).add(id);
+        }
+    }
+
+    private void remove(int id) {
+        EmployeeSummary summary = summaries.remove(id);
+        if (summary == null) return;
+
+        for (String token : tokensById.remove(id)) {
+            NavigableSet<Integer> ids = postings.get(token);
+            if (ids == null) continue;
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+                trie.remove(token);
+            }
+        }
+
+        String departmentId = summary.departmentId();
+        if (departmentId != null) {
+            NavigableSet<Integer> ids = departmentPostings.get(departmentId);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) departmentPostings.remove(departmentId);
+            }
+        }
+    }
+
+    /**
+     * Läuft mehrere nach ID sortierte Listen gemeinsam in ID-Reihenfolge ab, ohne sie zu einer Menge zu vereinigen.
+     * Eine ID, die in mehreren Listen steht, wird nur einmal geliefert.
+     */
+    private static final class MergedIds implements Iterator<Integer> {
+
+        private record Cursor(int head, Iterator<Integer> rest) {}
+
+        private final PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparingInt(Cursor::head));
+        private Integer next;
+
+        MergedIds(List<NavigableSet<Integer>> lists) {
+            for (NavigableSet<Integer> ids : lists) {
+                push(ids.iterator());
+            }
+            next = poll();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Integer next() {
+            if (next == null) throw new NoSuchElementException();
+            int current = next;
+            do {
+                next = poll();
+            } while (next != null && next == current);
+            return current;
+        }
+
+        private Integer poll() {
+            Cursor cursor = queue.poll();
+            if (cursor == null) return null;
+            push(cursor.rest());
+            return cursor.head();
+        }
+
+        private void push(Iterator<Integer> ids) {
+            if (ids.hasNext()) queue.add(new Cursor(ids.next(), ids));
+        }
+    }
+
+    private static Set<String> tokensOf(EmployeeSummary summary) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(tokenize(summary.firstName()));
+        tokens.addAll(tokenize(summary.lastName()));
+        tokens.addAll(tokenize(summary.email()));
+        return tokens;
+    }
+
+    /**
+     * Zerlegt einen Text in normalisierte Tokens: Kleinbuchstaben, ohne Akzente, getrennt an allen Zeichen,
+     * die weder Buchstabe noch Ziffer sind (z.B. "Jäger" -> "jager", "a.b@web.de" -> "a", "b", "web", "de").
+     * @param text Der zu zerlegende Text.
+     * @return Liste der Tokens in ihrer Reihenfolge.
+     * @author Elias Glauert
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) return tokens;
+
+        String normalized = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) tokens.add(current.toString());
+        return tokens;
+    }
+}
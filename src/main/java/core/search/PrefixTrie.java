@@ -0,0 +1,104 @@
+package core.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Präfixbaum über alle Tokens des Suchindex.
+ * Liefert zu einem Präfix alle indizierten Tokens, die damit beginnen.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public class PrefixTrie {
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private String token; // gesetzt, wenn an diesem Knoten ein Token endet
+    }
+
+    private final Node root = new Node();
+    private int size = 0;
+
+    /**
+     * Fügt ein Token hinzu. Ist es bereits vorhanden, passiert nichts.
+     * @param token Normalisiertes Token.
+     * @author Elias Glauert
+     */
+    public void add(String token) {
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+        }
+        if (node.token == null) {
+            node.token = token;
+            size++;
+        }
+    }
+
+    /**
+     * Entfernt ein Token und räumt dabei leere Äste auf.
+     * @param token Normalisiertes Token.
+     * @author Elias Glauert
+     */
+    public void remove(String token) {
+        ArrayDeque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            path.push(node);
+            node = node.children.get(token.charAt(i));
+            if (node == null) return;
+        }
+        if (node.token == null) return;
+        node.token = null;
+        size--;
+
+        for (int i = token.length() - 1; i >= 0 && node.token == null && node.children.isEmpty(); i--) {
+            Node parent = path.pop();
+            parent.children.remove(token.charAt(i));
+            node = parent;
+        }
+    }
+
+    /**
+     * Gibt alle Tokens zurück, die mit dem Präfix beginnen.
+     * @param prefix Normalisiertes Präfix.
+     * @return Liste der passenden Tokens (leer, wenn keins passt).
+     * @author Elias Glauert
+     */
+    public List<String> tokensWithPrefix(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        List<String> tokens = new ArrayList<>();
+        if (node == null) return tokens;
+
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            if (current.token != null) tokens.add(current.token);
+            for (Node child : current.children.values()) stack.push(child);
+        }
+        return tokens;
+    }
+
+    /**
+     * Entfernt alle Tokens.
+     * @author Elias Glauert
+     */
+    public void clear() {
+        root.children.clear();
+        root.token = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,302 @@
+package db;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Kopiert den vollständigen Inhalt einer H2-Datenbank in eine andere.
+ * Die DDL wird über 'SCRIPT NODATA' aus der Quelle übernommen, sodass Primärschlüssel, Constraints, Indizes und
+ * Identity-Spalten (inklusive ihres aktuellen Zählerstands) erhalten bleiben.
+ * Tabellen und Sequenzen werden vor dem Kopieren der Daten angelegt, Constraints und Indizes erst danach,
+ * damit sie nicht bei jeder eingefügten Zeile nachgeführt werden müssen.
+ * Die Zeilen werden gestreamt gelesen und pro Tabelle in einer Transaktion als Batches eingefügt.
+ * Aufsteigende Sequenzen des Ziels laufen durch das Kopieren nicht hinter ihren bisherigen Stand zurück,
+ * damit bereits vergebene Werte (z.B. Zeilenversionen) nach einer Wiederherstellung nicht erneut vergeben werden.
+ * Vor dem Überschreiben wird der alte Inhalt des Ziels in eine In-Memory-Datenbank gesichert und bei einem Fehler
+ * zurückgespielt, ein fehlgeschlagener Kopiervorgang hinterlässt das Ziel also nicht leer oder halb gefüllt.
+ *
+ * @author Elias Glauert
+ * @version 1.2 (Ziel wird bei einem Fehler aus einer Sicherung im Arbeitsspeicher wiederhergestellt)
+ * @since 2025-08-13
+ */
+public class BackupEngine {
+
+    public static final int default_fetch_size = 1000;
+    public static final int default_batch_size = 1000;
+
+    /**
+     * Statements, die erst nach dem Laden der Daten ausgeführt werden.
+     */
+    private static final Pattern post_data_statement = Pattern.compile(
+            "^(ALTER\\s+TABLE|CREATE\\s+(UNIQUE\\s+|SPATIAL\\s+|HASH\\s+)*INDEX|CREATE\\s+(OR\\s+REPLACE\\s+)?(FORCE\\s+)?(VIEW|TRIGGER))\\b.*",
+            Pattern.DOTALL);
+
+    private final int fetchSize;
+    private final int batchSize;
+
+    /**
+     * Ergebnis eines Kopiervorgangs.
+     * @param tables Anzahl der kopierten Tabellen.
+     * @param rows Anzahl der kopierten Zeilen über alle Tabellen.
+     * @param millis Gesamtdauer in Millisekunden.
+     */
+    public record BackupReport(int tables, long rows, long millis) {
+
+        public long rowsPerSecond() {
+            return millis == 0 ? rows * 1000 : rows * 1000 / millis;
+        }
+
+        @Override
+        public String toString() {
+            return tables + " Tabellen, " + rows + " Zeilen in " + millis + " ms (" + rowsPerSecond() + " Zeilen/s)";
+        }
+    }
+
+    public BackupEngine() {
+        this(default_fetch_size, default_batch_size);
+    }
+
+    /**
+     * Konstruktor für die BackupEngine.
+     * @param fetchSize Anzahl der Zeilen, die beim Lesen auf einmal geholt werden.
+     * @param batchSize Anzahl der Zeilen, die beim Schreiben in einem Batch gesendet werden.
+     * @author Elias Glauert
+     */
+    public BackupEngine(int fetchSize, int batchSize) {
+        if (fetchSize < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Fetch- und Batch-Größe müssen mindestens 1 sein.");
+        }
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Ersetzt den gesamten Inhalt der Zieldatenbank durch den der Quelldatenbank.
+     * Schlägt das Kopieren fehl, wird der vorherige Inhalt des Ziels wiederhergestellt und der Fehler weitergegeben.
+     * @param source Verbindung zur Quelldatenbank.
+     * @param target Verbindung zur Zieldatenbank, deren alter Inhalt verloren geht.
+     * @return Statistik über den Kopiervorgang.
+     * @throws SQLException Falls die Quelle leer ist oder beim Lesen bzw. Schreiben ein Fehler auftritt.
+     * @author Elias Glauert
+     */
+    public BackupReport copy(Connection source, Connection target) throws SQLException {
+        List<String> tables = readTableNames(source);
+        if (tables.isEmpty()) {
+            // Sonst würde eine leere Quelle den gesamten Inhalt des Ziels löschen
+            throw new SQLException("Die Quelldatenbank enthält keine Tabellen, es wird nichts kopiert.");
+        }
+        if (readTableNames(target).isEmpty()) {
+            return replace(source, target, tables);
+        }
+
+        // Die Sicherung lebt nur, solange diese Verbindung offen ist
+        try (Connection rollback = DriverManager.getConnection("jdbc:h2:mem:backup_rollback_" + UUID.randomUUID())) {
+            replace(target, rollback, readTableNames(target));
+            try {
+                return replace(source, target, tables);
+            } catch (SQLException e) {
+                System.err.println("BackupEngine - Kopieren fehlgeschlagen, vorheriger Inhalt des Ziels wird wiederhergestellt: " + e.getMessage());
+                try {
+                    replace(rollback, target, readTableNames(rollback));
+                } catch (SQLException restoreError) {
+                    e.addSuppressed(restoreError);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Löscht den Inhalt des Ziels und kopiert die angegebenen Tabellen samt DDL aus der Quelle hinein.
+     * @author Elias Glauert
+     */
+    private BackupReport replace(Connection source, Connection target, List<String> tables) throws SQLException {
+        long start = System.currentTimeMillis();
+
+        List<String> schemaStatements = new ArrayList<>();
+        List<String> postDataStatements = new ArrayList<>();
+        readDdl(source, schemaStatements, postDataStatements);
+        Map<String, Long> previousSequenceValues = readSequenceValues(target);
+
+        try (Statement targetStmt = target.createStatement()) {
+            targetStmt.execute("DROP ALL OBJECTS");
+            for (String sql : schemaStatements) {
+                targetStmt.execute(sql);
+            }
+        }
+
+        long rows = 0;
+        for (String table : tables) {
+            rows += copyTable(source, target, table);
+        }
+
+        try (Statement targetStmt = target.createStatement()) {
+            for (String sql : postDataStatements) {
+                targetStmt.execute(sql);
+            }
+        }
+        restartSequences(target, previousSequenceValues);
+
+        return new BackupReport(tables.size(), rows, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Liest alle Benutzertabellen der Quelle als vollständig qualifizierte, gequotete Namen.
+     * @author Elias Glauert
+     */
+    private List<String> readTableNames(Connection source) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        DatabaseMetaData metaData = source.getMetaData();
+        try (ResultSet rs = metaData.getTables(null, null, "%", new String[]{"BASE TABLE", "TABLE"})) {
+            while (rs.next()) {
+                String schema = rs.getString("TABLE_SCHEM");
+                if ("INFORMATION_SCHEMA".equalsIgnoreCase(schema)) continue;
+                tables.add(quote(schema) + "." + quote(rs.getString("TABLE_NAME")));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Teilt die Ausgabe von 'SCRIPT NODATA' in Statements vor und nach dem Laden der Daten auf.
+     * Kommentare und Benutzer werden übersprungen, da die Zieldatenbank ihre eigenen Zugangsdaten behält.
+     * @author Elias Glauert
+     */
+    private void readDdl(Connection source, List<String> schemaStatements, List<String> postDataStatements) throws SQLException {
+        try (Statement stmt = source.createStatement();
+             ResultSet rs = stmt.executeQuery("SCRIPT NODATA")) {
+            while (rs.next()) {
+                String sql = rs.getString(1).trim();
+                String upper = sql.toUpperCase(Locale.ROOT);
+                if (upper.startsWith("--") || upper.startsWith("CREATE USER") || upper.startsWith("SET ")) {
+                    continue;
+                }
+                if (post_data_statement.matcher(upper).matches()) {
+                    postDataStatements.add(sql);
+                } else {
+                    schemaStatements.add(sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * Liest den nächsten Wert aller aufsteigenden Sequenzen als vollständig qualifizierte, gequotete Namen.
+     * @author Elias Glauert
+     */
+    private Map<String, Long> readSequenceValues(Connection connection) throws SQLException {
+        Map<String, Long> values = new HashMap<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT SEQUENCE_SCHEMA, SEQUENCE_NAME, BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                     + "WHERE INCREMENT > 0")) {
+            while (rs.next()) {
+                values.put(quote(rs.getString(1)) + "." + quote(rs.getString(2)), rs.getLong(3));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Setzt kopierte Sequenzen, die hinter dem vorherigen Stand des Ziels liegen, auf diesen Stand.
+     * @param previousValues Nächste Werte der Sequenzen des Ziels vor dem Kopieren.
+     * @author Elias Glauert
+     */
+    private void restartSequences(Connection target, Map<String, Long> previousValues) throws SQLException {
+        if (previousValues.isEmpty()) return;
+        Map<String, Long> copiedValues = readSequenceValues(target);
+        try (Statement targetStmt = target.createStatement()) {
+            for (Map.Entry<String, Long> entry : copiedValues.entrySet()) {
+                Long previous = previousValues.get(entry.getKey());
+                if (previous != null && previous > entry.getValue()) {
+                    targetStmt.execute("ALTER SEQUENCE " + entry.getKey() + " RESTART WITH " + previous);
+                }
+            }
+        }
+    }
+
+    /**
+     * Kopiert alle Zeilen einer Tabelle in einer Transaktion.
+     * @return Anzahl der kopierten Zeilen.
+     * @author Elias Glauert
+     */
+    private long copyTable(Connection source, Connection target, String table) throws SQLException {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+
+        boolean previousAutoCommit = target.getAutoCommit();
+        target.setAutoCommit(false);
+        try (Statement lazyStmt = source.createStatement()) {
+            // Ergebnis nicht vollständig in der Quelle aufbauen, sondern beim Lesen erzeugen
+            lazyStmt.execute("SET LAZY_QUERY_EXECUTION TRUE");
+            try (Statement sourceStmt = source.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                sourceStmt.setFetchSize(fetchSize);
+                try (ResultSet rs = sourceStmt.executeQuery("SELECT * FROM " + table);
+                     PreparedStatement insertStmt = target.prepareStatement(buildInsert(table, rs.getMetaData()))) {
+                    int columnCount = rs.getMetaData().getColumnCount();
+                    int pending = 0;
+                    while (rs.next()) {
+                        for (int i = 1; i <= columnCount; i++) {
+                            insertStmt.setObject(i, rs.getObject(i));
+                        }
+                        insertStmt.addBatch();
+                        rows++;
+                        if (++pending == batchSize) {
+                            insertStmt.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        insertStmt.executeBatch();
+                    }
+                }
+            } finally {
+                lazyStmt.execute("SET LAZY_QUERY_EXECUTION FALSE");
+            }
+            target.commit();
+        } catch (SQLException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            target.setAutoCommit(previousAutoCommit);
+        }
+
+        long millis = System.currentTimeMillis() - start;
+        System.out.println("BackupEngine - " + table + ": " + rows + " Zeilen in " + millis + " ms kopiert.");
+        return rows;
+    }
+
+    /**
+     * Baut das INSERT mit expliziten Spalten. 'OVERRIDING SYSTEM VALUE' übernimmt auch Werte von Identity-Spalten.
+     * @author Elias Glauert
+     */
+    private String buildInsert(String table, ResultSetMetaData metaData) throws SQLException {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (i > 1) {
+                columns.append(", ");
+                placeholders.append(", ");
+            }
+            columns.append(quote(metaData.getColumnName(i)));
+            placeholders.append("?");
+        }
+        return "INSERT INTO " + table + " (" + columns + ") OVERRIDING SYSTEM VALUE VALUES (" + placeholders + ")";
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
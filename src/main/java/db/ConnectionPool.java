@@ -0,0 +1,435 @@
+package db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Begrenzter Connection-Pool für eine H2-Datenbank.
+ * Die ausgegebenen Verbindungen werden beim close() nicht geschlossen, sondern an den Pool zurückgegeben,
+ * sodass die DAOs weiterhin mit try-with-resources arbeiten können und trotzdem eine offene Verbindung wiederverwenden.
+ * <p>
+ * Genauso bleiben PreparedStatements pro Verbindung vorbereitet: ein close() gibt das Statement nur an den Cache
+ * der Verbindung zurück, der nächste prepareStatement-Aufruf mit demselben SQL bekommt es ohne erneutes Parsen.
+ *
+ * @author Elias Glauert
+ * @version 1.1
+ * @since 2025-08-12
+ */
+public class ConnectionPool {
+
+    /**
+     * Nach dieser Zeit ohne Benutzung wird eine Verbindung vor der Ausgabe erneut validiert.
+     */
+    private static final long validation_interval_millis = 1_000;
+    private static final int validation_timeout_seconds = 1;
+
+    /**
+     * Höchstens so viele vorbereitete Statements werden pro Verbindung offen gehalten, die am längsten unbenutzten
+     * werden geschlossen. Begrenzt den Speicher für dynamisch zusammengesetzte Abfragen wie gefilterte Suchen.
+     */
+    private static final int statement_cache_size = 64;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+
+    private final ArrayDeque<IdleConnection> idleConnections = new ArrayDeque<>();
+    private final Semaphore permits;
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Eine Verbindung, die gerade nicht benutzt wird, zusammen mit dem Zeitpunkt der Rückgabe.
+     */
+    private record IdleConnection(Connection physical, long returnedAt) {}
+
+    /**
+     * Konstruktor für den ConnectionPool.
+     * @param url JDBC-URL der Datenbank.
+     * @param user Benutzername für die Datenbank.
+     * @param password Passwort für die Datenbank.
+     * @param maxSize Maximale Anzahl gleichzeitig ausgegebener Verbindungen.
+     * @param idleTimeoutMillis Nach dieser Zeit ohne Benutzung wird eine Verbindung geschlossen.
+     * @param borrowTimeoutMillis So lange wird maximal auf eine freie Verbindung gewartet.
+     * @author Elias Glauert
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize, long idleTimeoutMillis, long borrowTimeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Die Poolgröße muss mindestens 1 sein.");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Leiht eine Verbindung aus dem Pool aus. Ein Aufruf von close() auf der Verbindung gibt sie zurück.
+     * @return Eine validierte Verbindung.
+     * @throws SQLException Falls der Pool geschlossen ist, keine Verbindung frei wird oder keine aufgebaut werden kann.
+     * @author Elias Glauert
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("ConnectionPool für '" + url + "' ist geschlossen.");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Zeitüberschreitung: keine freie Verbindung im Pool (maximal " + maxSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Warten auf eine Verbindung wurde unterbrochen.", e);
+        }
+
+        try {
+            return wrap(takeIdleOrCreate());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gibt die zuletzt zurückgegebene, noch gültige Verbindung zurück oder baut eine neue auf.
+     * Abgelaufene und ungültige Verbindungen werden dabei geschlossen.
+     * @author Elias Glauert
+     */
+    private Connection takeIdleOrCreate() throws SQLException {
+        long now = System.currentTimeMillis();
+        while (true) {
+            IdleConnection candidate;
+            synchronized (idleConnections) {
+                candidate = idleConnections.pollLast();
+            }
+            if (candidate == null) break;
+
+            long idleFor = now - candidate.returnedAt();
+            if (idleFor > idleTimeoutMillis) {
+                closeQuietly(candidate.physical());
+                continue;
+            }
+            if (idleFor > validation_interval_millis && !isUsable(candidate.physical())) {
+                closeQuietly(candidate.physical());
+                continue;
+            }
+            return candidate.physical();
+        }
+
+        System.out.println("ConnectionPool - neue Verbindung zu '" + url + "' wird aufgebaut.");
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    /**
+     * Nimmt eine ausgeliehene Verbindung zurück und setzt ihren Zustand zurück.
+     * @author Elias Glauert
+     */
+    private void release(Connection physical) {
+        try {
+            if (closed || physical.isClosed()) {
+                closeQuietly(physical);
+                return;
+            }
+            StatementCache statementCache = statementCaches.get(physical);
+            if (statementCache != null) {
+                statementCache.reclaim();
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            synchronized (idleConnections) {
+                idleConnections.addLast(new IdleConnection(physical, System.currentTimeMillis()));
+            }
+            evictIdle();
+        } catch (SQLException e) {
+            System.err.println("ConnectionPool - Verbindung konnte nicht zurückgesetzt werden und wird verworfen: " + e.getMessage());
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Schließt alle Verbindungen, die länger als das Idle-Timeout unbenutzt waren.
+     * Die zuletzt zurückgegebene Verbindung bleibt immer offen, damit die eingebettete Datenbank geöffnet bleibt.
+     * @author Elias Glauert
+     */
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        synchronized (idleConnections) {
+            Iterator<IdleConnection> iterator = idleConnections.iterator();
+            while (iterator.hasNext() && idleConnections.size() > 1) {
+                IdleConnection idle = iterator.next();
+                if (now - idle.returnedAt() > idleTimeoutMillis) {
+                    iterator.remove();
+                    closeQuietly(idle.physical());
+                }
+            }
+        }
+    }
+
+    /**
+     * Schließt den Pool und alle freien Verbindungen. Ausgeliehene Verbindungen werden bei ihrer Rückgabe geschlossen.
+     * @author Elias Glauert
+     */
+    public void shutdown() {
+        closed = true;
+        synchronized (idleConnections) {
+            for (IdleConnection idle : idleConnections) {
+                closeQuietly(idle.physical());
+            }
+            idleConnections.clear();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        synchronized (idleConnections) {
+            return idleConnections.size();
+        }
+    }
+
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    private boolean isUsable(Connection connection) {
+        try {
+            return connection.isValid(validation_timeout_seconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        // Die Statements werden zusammen mit der Verbindung geschlossen
+        statementCaches.remove(connection);
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("ConnectionPool - Fehler beim Schließen einer Verbindung: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Umhüllt eine physische Verbindung so, dass close() sie an den Pool zurückgibt.
+     * Nach der Rückgabe verhält sich die Hülle wie eine geschlossene Verbindung.
+     * @author Elias Glauert
+     */
+    private Connection wrap(Connection physical) {
+        boolean[] returned = {false};
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (!returned[0]) {
+                                returned[0] = true;
+                                release(physical);
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return returned[0] || physical.isClosed();
+                        }
+                        case "prepareStatement" -> {
+                            if (returned[0]) {
+                                throw new SQLException("Verbindung wurde bereits an den Pool zurückgegeben.");
+                            }
+                            return statementCaches.computeIfAbsent(physical, _ -> new StatementCache())
+                                    .prepare(physical, (Connection) proxy, method, args);
+                        }
+                        case "unwrap" -> {
+                            if (((Class<?>) args[0]).isInstance(proxy)) return proxy;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "toString" -> {
+                            return "PooledConnection[" + physical + "]";
+                        }
+                        default -> {
+                            if (returned[0]) {
+                                throw new SQLException("Verbindung wurde bereits an den Pool zurückgegeben.");
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Die vorbereiteten Statements einer physischen Verbindung, geordnet nach letzter Benutzung.
+     * Eine Verbindung wird immer nur von einem Thread gleichzeitig benutzt, daher ist keine Synchronisierung nötig.
+     */
+    private static final class StatementCache {
+
+        private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * Gibt ein vorbereitetes Statement für den Aufruf zurück. Ist das passende Statement gerade schon ausgegeben,
+         * z.B. bei verschachtelten Abfragen mit demselben SQL, wird ein normales, nicht gecachtes Statement erstellt.
+         * @author Elias Glauert
+         */
+        PreparedStatement prepare(Connection physical, Connection owner, Method method, Object[] args) throws Throwable {
+            // deepToString, damit Spaltenindizes und -namen aus prepareStatement(String, int[]/String[]) mit ihrem Inhalt zählen
+            String key = method.getName() + Arrays.deepToString(args);
+            CachedStatement cached = statements.get(key);
+            if (cached != null && cached.inUse) {
+                return (PreparedStatement) invoke(method, physical, args);
+            }
+            if (cached == null || cached.statement.isClosed()) {
+                cached = new CachedStatement((PreparedStatement) invoke(method, physical, args));
+                statements.put(key, cached);
+                evictEldest();
+            }
+            return cached.lease(owner);
+        }
+
+        private void evictEldest() {
+            Iterator<CachedStatement> iterator = statements.values().iterator();
+            while (statements.size() > statement_cache_size && iterator.hasNext()) {
+                CachedStatement eldest = iterator.next();
+                if (eldest.inUse) continue;
+                iterator.remove();
+                eldest.closeQuietly();
+            }
+        }
+
+        /**
+         * Gibt alle noch ausgegebenen Statements zurück, wenn die Verbindung an den Pool zurückgeht.
+         */
+        void reclaim() {
+            for (CachedStatement cached : statements.values()) {
+                if (cached.inUse) cached.giveBack();
+            }
+        }
+    }
+
+    /**
+     * Ein vorbereitetes Statement im Cache. Nach außen wird für jede Ausgabe eine eigene Hülle erzeugt,
+     * deren close() das Statement zurücksetzt und wieder freigibt, statt es zu schließen.
+     */
+    private static final class CachedStatement {
+
+        private final PreparedStatement statement;
+        private final int defaultFetchSize;
+        private boolean inUse = false;
+        private int lease = 0;
+
+        CachedStatement(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.defaultFetchSize = statement.getFetchSize();
+        }
+
+        PreparedStatement lease(Connection owner) {
+            inUse = true;
+            int leaseId = ++lease;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        boolean released = leaseId != lease || !inUse;
+                        switch (method.getName()) {
+                            case "close" -> {
+                                if (!released) giveBack();
+                                return null;
+                            }
+                            case "isClosed" -> {
+                                return released || statement.isClosed();
+                            }
+                            case "getConnection" -> {
+                                return owner;
+                            }
+                            case "equals" -> {
+                                return proxy == args[0];
+                            }
+                            case "hashCode" -> {
+                                return System.identityHashCode(proxy);
+                            }
+                            case "toString" -> {
+                                return "CachedStatement[" + statement + "]";
+                            }
+                            default -> {
+                                if (released) {
+                                    throw new SQLException("Statement wurde bereits geschlossen.");
+                                }
+                            }
+                        }
+                        return invoke(method, statement, args);
+                    });
+        }
+
+        /**
+         * Setzt Parameter, Batch und Fetchgröße zurück und gibt das Statement für die nächste Ausgabe frei.
+         * Lässt es sich nicht zurücksetzen, wird es geschlossen und beim nächsten Mal neu vorbereitet.
+         */
+        void giveBack() {
+            inUse = false;
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+                if (statement.getFetchSize() != defaultFetchSize) {
+                    statement.setFetchSize(defaultFetchSize);
+                }
+            } catch (SQLException e) {
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println("ConnectionPool - Fehler beim Schließen eines Statements: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
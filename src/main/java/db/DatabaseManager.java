@@ -17,18 +17,32 @@ import java.util.List;
  * Diese Klasse verwaltet die Haupt-Datenbank, auf welcher die persistenten Daten gespeichert sind.
  *
  * @author Elias Glauert
- * @version 1.4
+ * @version 1.6 (Fehler beim Kopieren der Datenbank werden weitergegeben)
  * @since 2025-07-05
  */
 public class DatabaseManager {
 
-    private Connection connection;
+    /**
+     * Standardwerte für den Connection-Pool, falls in den Properties nichts angegeben ist.
+     */
+    private static final int default_pool_size = 8;
+    private static final long default_idle_timeout_seconds = 300;
+    private static final long default_borrow_timeout_seconds = 30;
+
+    private ConnectionPool connectionPool;
     private String dbFilePath;
+    private String dbUrl;
+    private String dbUser;
+    private String dbPassword;
+    private int poolSize = default_pool_size;
+    private long idleTimeoutSeconds = default_idle_timeout_seconds;
+    private long borrowTimeoutSeconds = default_borrow_timeout_seconds;
     private boolean isBackup;
     private final ObjectMapper objectMapper;
 
     /**
      * Konstruktor für den DatabaseManager.
+     * Die Properties werden hier einmalig gelesen und für alle späteren Verbindungen wiederverwendet.
      * @author Elias Glauert
      */
     public DatabaseManager(boolean isBackup, ObjectMapper objectMapper) {
@@ -50,36 +64,35 @@ public class DatabaseManager {
                 e.printStackTrace();
             }
 
-            dbFilePath = props.getProperty("db.url").replace("jdbc:h2:", "");
+            dbUrl = props.getProperty("db.url");
+            dbUser = props.getProperty("db.user");
+            dbPassword = props.getProperty("db.password");
+            poolSize = Integer.parseInt(props.getProperty("db.pool.size", String.valueOf(default_pool_size)));
+            idleTimeoutSeconds = Long.parseLong(props.getProperty("db.pool.idleTimeoutSeconds", String.valueOf(default_idle_timeout_seconds)));
+            borrowTimeoutSeconds = Long.parseLong(props.getProperty("db.pool.borrowTimeoutSeconds", String.valueOf(default_borrow_timeout_seconds)));
+            dbFilePath = dbUrl.replace("jdbc:h2:", "");
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
     public DatabaseManager(boolean isBackup) {
+        this(isBackup, new ObjectMapper());
+    }
+
+    /**
+     * Konstruktor mit festen Verbindungsdaten statt der Properties-Datei, z.B. für eine Datenbank in einem temporären
+     * Verzeichnis. Der Connection-Pool verwendet die Standardwerte.
+     * @param dbUrl JDBC-URL einer H2-Datei, z.B. 'jdbc:h2:/tmp/test/employees_db'.
+     * @author Elias Glauert
+     */
+    public DatabaseManager(String dbUrl, String dbUser, String dbPassword, boolean isBackup) {
         this.isBackup = isBackup;
         this.objectMapper = new ObjectMapper();
-        try {
-            // Properties einstellen
-            String file_location_properties = fetchPropertyName();
-            System.out.println("Aufsetzen des DatabaseManagers für folgende Properties: " + file_location_properties);
-            Properties props = new Properties();
-            try (InputStream input = getClass().getClassLoader().getResourceAsStream(file_location_properties)) {
-                if (input == null) {
-                    System.out.println("Fehler: konnte die " + file_location_properties + " nicht finden!");
-                } else {
-                    props.load(input);
-                    System.out.println("Properties erfolgreich geladen.");
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-
-            dbFilePath = props.getProperty("db.url").replace("jdbc:h2:", "");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
+        this.dbUrl = dbUrl;
+        this.dbUser = dbUser;
+        this.dbPassword = dbPassword;
+        this.dbFilePath = dbUrl.replace("jdbc:h2:", "");
     }
 
     /**
@@ -108,51 +121,52 @@ public class DatabaseManager {
     }
 
     /**
-     * Methode zum Öffnen einer Verbindung
+     * Methode zum Öffnen des Connection-Pools. Ist der Pool bereits offen, passiert nichts.
      * @author Elias Glauert
      */
-    public void connect() {
-        try {
-            Properties props = new Properties();
-            try (InputStream input = getClass().getResourceAsStream("/" + fetchPropertyName())) {
-                props.load(input);
-            }
-
-            String url = props.getProperty("db.url");
-            String user = props.getProperty("db.user");
-            String password = props.getProperty("db.password");
-
-            connection = DriverManager.getConnection(url, user, password);
-            System.out.println("connect() - Verbindung zu " + fetchClearName() + " hergestellt.");
-        } catch (Exception e) {
-            e.printStackTrace();
+    public synchronized void connect() {
+        if (connectionPool != null && !connectionPool.isClosed()) {
+            return;
         }
+        connectionPool = new ConnectionPool(dbUrl, dbUser, dbPassword, poolSize,
+                idleTimeoutSeconds * 1000, borrowTimeoutSeconds * 1000);
+        System.out.println("connect() - Connection-Pool für " + fetchClearName() + " geöffnet (maximal " + poolSize + " Verbindungen).");
     }
 
     /**
-     * Methode zum Schließen der Verbindung
+     * Methode zum Schließen des Connection-Pools und aller freien Verbindungen.
      * @author Elias Glauert
      */
-    public void disconnect() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("disconnect() - Verbindung zu " + fetchClearName() + " geschlossen.");
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+    public synchronized void disconnect() {
+        if (connectionPool != null) {
+            connectionPool.shutdown();
+            connectionPool = null;
+            System.out.println("disconnect() - Verbindungen zu " + fetchClearName() + " geschlossen.");
         }
     }
 
     /**
-     * Methode zum Abrufen der Verbindung
+     * Methode zum Abrufen einer Verbindung aus dem Pool.
+     * Die Verbindung muss nach der Benutzung geschlossen werden, wodurch sie an den Pool zurückgegeben wird.
      * @author Elias Glauert
      */
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connect(); // Reconnect if necessary
+        ConnectionPool pool;
+        synchronized (this) {
+            if (connectionPool == null || connectionPool.isClosed()) {
+                connect(); // Reconnect if necessary
+            }
+            pool = connectionPool;
         }
-        return connection;
+        return pool.borrow();
+    }
+
+    /**
+     * Gibt die maximale Anzahl gleichzeitig nutzbarer Verbindungen zurück.
+     * @author Elias Glauert
+     */
+    public int getPoolSize() {
+        return poolSize;
     }
 
     /**
@@ -239,97 +253,18 @@ public class DatabaseManager {
 
     /**
      * Copies the own DB-Content to the DB of the other DbManager, so that the other DB's old data is lost.
+     * The full DDL (keys, constraints, indexes, identity columns) is preserved, see {@link BackupEngine}.
+     * If the copy fails, the other DB keeps its old data and the error is passed on to the caller.
      * @param otherDatabaseManager DbManager whose DB will be overwritten.
+     * @throws SQLException if the copy failed.
      * @author Elias Glauert
      */
-    public void copyDatabaseToOtherDbManager(DatabaseManager otherDatabaseManager) {
-        try {
-            // Ensure both connections are active
-            this.connect();
-            otherDatabaseManager.connect();
-
-            // Prepare to copy data
-            Connection sourceConnection = this.getConnection();
-            Connection targetConnection = otherDatabaseManager.getConnection();
-
-            DatabaseMetaData metaData = sourceConnection.getMetaData();
-
-            // Retrieve all tables from the source database
-            try (ResultSet tables = metaData.getTables(null, null, "%", new String[]{"TABLE"})) {
-                Statement sourceStmt = sourceConnection.createStatement();
-                Statement targetStmt = targetConnection.createStatement();
-
-                while (tables.next()) {
-                    String tableName = tables.getString("TABLE_NAME");
-
-                    // Filter out system tables by checking the schema name or using specific table name checks
-                    if (!isSystemTable(tableName)) {
-                        try {
-                            // Drop the table in the target database if it exists (to clear it)
-                            targetStmt.execute("DROP TABLE IF EXISTS " + tableName);
-
-                            // Create table structure in the target database
-                            ResultSet columnInfo = metaData.getColumns(null, null, tableName, null);
-                            StringBuilder createTableSQL = new StringBuilder("CREATE TABLE " + tableName + " (");
-
-                            // Track columns to avoid duplicates
-                            HashSet<String> columnNamesSet = new HashSet<>();
-
-                            while (columnInfo.next()) {
-                                String columnName = columnInfo.getString("COLUMN_NAME");
-
-                                // Check if the column name has not been added before to avoid duplicates
-                                if (!columnNamesSet.contains(columnName)) {
-                                    columnNamesSet.add(columnName);
-                                    String columnType = columnInfo.getString("TYPE_NAME");
-                                    int columnSize = columnInfo.getInt("COLUMN_SIZE");
-
-                                    // Handle types and sizes
-                                    createTableSQL.append(columnName).append(" ").append(columnType);
-                                    if (columnType.equalsIgnoreCase("VARCHAR")) {
-                                        createTableSQL.append("(").append(columnSize).append(")");
-                                    }
-                                    createTableSQL.append(", ");
-                                }
-                            }
-                            if (createTableSQL.charAt(createTableSQL.length() - 2) == ',') {
-                                createTableSQL.deleteCharAt(createTableSQL.length() - 2); // Remove trailing comma
-                            }
-                            createTableSQL.append(")");
-
-                            targetStmt.execute(createTableSQL.toString());
-
-                            // Copy data from source table to target table
-                            try (ResultSet rs = sourceStmt.executeQuery("SELECT * FROM " + tableName)) {
-                                ResultSetMetaData rsMetaData = rs.getMetaData();
-                                int columnCount = rsMetaData.getColumnCount();
-
-                                // Prepare insert statement for target database
-                                StringBuilder insertSQL = new StringBuilder("INSERT INTO " + tableName + " VALUES (");
-                                for (int i = 0; i < columnCount; i++) {
-                                    insertSQL.append("?");
-                                    if (i < columnCount - 1) insertSQL.append(", ");
-                                }
-                                insertSQL.append(")");
-
-                                // Insert data into the target table
-                                try (PreparedStatement insertStmt = targetConnection.prepareStatement(insertSQL.toString())) {
-                                    while (rs.next()) {
-                                        for (int i = 1; i <= columnCount; i++) {
-                                            insertStmt.setObject(i, rs.getObject(i));
-                                        }
-                                        insertStmt.executeUpdate();
-                                    }
-                                }
-                            }
-                        } catch (SQLException e) {
-                            e.printStackTrace();  // Log error for table creation or data copying
-                        }
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();  // Global error logging
+    public void copyDatabaseToOtherDbManager(DatabaseManager otherDatabaseManager) throws SQLException {
+        // Borrow one connection per database for the whole copy
+        try (Connection sourceConnection = this.getConnection();
+             Connection targetConnection = otherDatabaseManager.getConnection()) {
+            BackupEngine.BackupReport report = new BackupEngine().copy(sourceConnection, targetConnection);
+            System.out.println("copyDatabaseToOtherDbManager() - " + report);
         }
     }
 
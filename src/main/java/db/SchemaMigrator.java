@@ -0,0 +1,185 @@
+package db;
+
+import db.dao.EmployeeSkillDao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bringt das Schema einer Datenbank über versionierte Migrationen auf den aktuellen Stand.
+ * Welche Migrationen bereits gelaufen sind, steht in der Tabelle 'schema_version'. Beim Start werden alle
+ * noch fehlenden Migrationen in aufsteigender Reihenfolge ausgeführt, sodass auch bestehende Datenbanken
+ * neue Tabellen und Indizes bekommen.
+ * <p>
+ * Eine Migration ist entweder ein SQL-Skript unter 'sql/migrations/' im Classpath oder ein Schritt in Java,
+ * falls Daten umgewandelt werden müssen.
+ *
+ * @author Elias Glauert
+ * @version 1.2 (Zeilenversionen und Grabsteine)
+ * @since 2025-08-13
+ */
+public class SchemaMigrator {
+
+    private static final String migration_path = "sql/migrations/";
+
+    /**
+     * Ein einzelner Schritt einer Migration, der auf der übergebenen Verbindung ausgeführt wird.
+     */
+    @FunctionalInterface
+    public interface MigrationStep {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Eine Migration mit fester Versionsnummer.
+     * @param version Aufsteigende, eindeutige Versionsnummer.
+     * @param description Kurzbeschreibung, wird in 'schema_version' gespeichert.
+     * @param step Der auszuführende Schritt.
+     */
+    public record Migration(int version, String description, MigrationStep step) {}
+
+    /**
+     * Alle Migrationen in der Reihenfolge, in der sie ausgeführt werden. Neue Migrationen werden nur hinten angehängt.
+     */
+    private static final List<Migration> migrations = List.of(
+            script(1, "employee_secondary_indexes"),
+            script(2, "employee_skill_training_tables"),
+            new Migration(3, "employee_skill_training_backfill", EmployeeSkillDao::backfill),
+            script(4, "employee_row_version")
+    );
+
+    private final DatabaseManager dbManager;
+
+    public SchemaMigrator(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Führt alle noch nicht angewendeten Migrationen aus. Schlägt eine fehl, werden die folgenden nicht mehr
+     * ausgeführt und beim nächsten Start erneut versucht.
+     * @return Anzahl der in diesem Aufruf angewendeten Migrationen.
+     * @author Elias Glauert
+     */
+    public int migrate() {
+        int applied = 0;
+        try (Connection conn = dbManager.getConnection()) {
+            createVersionTable(conn);
+            int currentVersion = readCurrentVersion(conn);
+
+            for (Migration migration : migrations) {
+                if (migration.version() <= currentVersion) continue;
+                apply(conn, migration);
+                applied++;
+            }
+            System.out.println("migrate() - Schema auf Version " + Math.max(currentVersion, latestVersion())
+                    + " (" + applied + " Migrationen angewendet).");
+        } catch (SQLException e) {
+            System.err.println("migrate() - Migration fehlgeschlagen: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return applied;
+    }
+
+    public static int latestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version();
+    }
+
+    private void createVersionTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(255) NOT NULL, "
+                    + "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+                    + "execution_ms BIGINT)");
+        }
+    }
+
+    private int readCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Führt eine Migration aus und trägt sie in 'schema_version' ein.
+     * DDL wird von H2 sofort festgeschrieben, die Skripte sind deshalb mit 'IF NOT EXISTS' wiederholbar geschrieben.
+     * @author Elias Glauert
+     */
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.currentTimeMillis();
+        conn.setAutoCommit(false);
+        try {
+            migration.step().apply(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, execution_ms) VALUES (?, ?, ?)")) {
+                pstmt.setInt(1, migration.version());
+                pstmt.setString(2, migration.description());
+                pstmt.setLong(3, System.currentTimeMillis() - start);
+                pstmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw new SQLException("Migration V" + migration.version() + " (" + migration.description() + ") fehlgeschlagen.", e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        System.out.println("migrate() - V" + migration.version() + " " + migration.description()
+                + " in " + (System.currentTimeMillis() - start) + " ms angewendet.");
+    }
+
+    /**
+     * Erstellt eine Migration aus dem Skript 'sql/migrations/V&lt;version&gt;__&lt;name&gt;.sql'.
+     * @author Elias Glauert
+     */
+    private static Migration script(int version, String name) {
+        String resource = migration_path + String.format("V%03d__%s.sql", version, name);
+        return new Migration(version, name, conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : splitStatements(readResource(resource))) {
+                    stmt.execute(sql);
+                }
+            }
+        });
+    }
+
+    private static String readResource(String resource) throws SQLException {
+        try (InputStream input = SchemaMigrator.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new SQLException("Migrationsskript '" + resource + "' nicht gefunden.");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Migrationsskript '" + resource + "' konnte nicht gelesen werden.", e);
+        }
+    }
+
+    /**
+     * Zerlegt ein Skript an ';' in einzelne Statements und entfernt '--'-Kommentare.
+     * Die Skripte dürfen daher weder ';' noch '--' innerhalb von Zeichenketten enthalten.
+     * @author Elias Glauert
+     */
+    static List<String> splitStatements(String script) {
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : script.split("\n")) {
+            int comment = line.indexOf("--");
+            withoutComments.append(comment >= 0 ? line.substring(0, comment) : line).append('\n');
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (String part : withoutComments.toString().split(";")) {
+            String sql = part.trim();
+            if (!sql.isEmpty()) statements.add(sql);
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,87 @@
+package db.dao;
+
+import db.DatabaseManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Asynchrone Ausführung von Datenbankzugriffen auf Mitarbeiter.
+ * Die Zugriffe selbst kommen vom Aufrufer, z.B. die Methoden des EmployeeManagers, damit der Cache mitgeführt wird.
+ * Jeder Aufruf läuft auf einem eigenen virtuellen Thread, sodass die GUI nie auf die Datenbank warten muss.
+ * Gleichzeitig laufen höchstens so viele Aufrufe wie der Connection-Pool Verbindungen hat, alle weiteren warten
+ * auf ihrem virtuellen Thread, bis ein Platz frei wird.
+ * <p>
+ * Laufende Aufrufe werden nie unterbrochen: ein Interrupt während eines Zugriffs schließt die eingebettete H2-Datenbank.
+ *
+ * @author Elias Glauert
+ * @version 1.1 (nur noch submit und run, unabhängig vom EmployeeDao)
+ * @since 2025-08-13
+ */
+public class AsyncEmployeeDao {
+
+    /**
+     * Ein Datenbankzugriff, der einen Wert liefert und beliebige Exceptions werfen darf.
+     */
+    @FunctionalInterface
+    public interface DbCall<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Ein Datenbankzugriff ohne Rückgabewert.
+     */
+    @FunctionalInterface
+    public interface DbAction {
+        void run() throws Exception;
+    }
+
+    private static final ExecutorService db_executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Semaphore permits;
+
+    /**
+     * Konstruktor für den AsyncEmployeeDao.
+     * @param dbManager Bestimmt über die Poolgröße, wie viele Zugriffe gleichzeitig laufen dürfen.
+     * @author Elias Glauert
+     */
+    public AsyncEmployeeDao(DatabaseManager dbManager) {
+        this.permits = new Semaphore(Math.max(1, dbManager.getPoolSize()), true);
+    }
+
+    /**
+     * Führt einen beliebigen Datenbankzugriff asynchron aus.
+     * @param call Der Zugriff, er läuft auf einem virtuellen Thread.
+     * @return Ein Future mit dem Ergebnis oder der geworfenen Exception.
+     * @author Elias Glauert
+     */
+    public <T> CompletableFuture<T> submit(DbCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        db_executor.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                future.complete(call.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                permits.release();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Führt einen Datenbankzugriff ohne Rückgabewert asynchron aus.
+     * @param action Der Zugriff, er läuft auf einem virtuellen Thread.
+     * @return Ein Future, das nach dem Zugriff abgeschlossen wird.
+     * @author Elias Glauert
+     */
+    public CompletableFuture<Void> run(DbAction action) {
+        return submit(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -1,26 +1,36 @@
 package db.dao;
 
 import model.db.Employee;
+import model.db.EmployeeField;
+import model.db.EmployeeSummary;
 import db.DatabaseManager;
 import java.sql.*;
 import java.util.ArrayList;
-import java.util.Date; // Geändert von java.time.LocalDate
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import util.SqlReader;
+import java.util.Set;
+import java.util.function.Consumer;
+import util.SqlRegistry;
 
 /**
  * Mitarbeiter-Datenbank-Zugriffsklasse.
  * Zwischenschicht zwischen Mitarbeiter und Datenbank.
  *
  * @author Elias Glauert, Dorian Gläske
- * @version 1.7 (Datumstypen von LocalDate zu Date geändert)
+ * @version 1.15 (removeEmployee gibt Fehler weiter)
  * @since 2025-08-04
  */
 public class EmployeeDao {
 
     private core.EmployeeManager employeeManager;
     private final DatabaseManager dbManager;
+    private final Employee.Hydrator lazyHydrator = this::hydrateOne;
 
     public EmployeeDao (DatabaseManager dbManager) {
         this.dbManager = dbManager;
@@ -31,68 +41,180 @@ public class EmployeeDao {
         this.employeeManager = employeeManager;
     }
 
+    /**
+     * Standardgröße eines Chunks beim Batch-Insert. Jeder Chunk wird in einer eigenen Transaktion geschrieben.
+     */
+    public static final int default_batch_chunk_size = 1000;
+
+    /**
+     * Standard-Fetchgröße für das zeilenweise Lesen mit forEachEmployee.
+     */
+    public static final int default_fetch_size = 500;
+
+    /**
+     * Maximale Anzahl IDs in der IN-Liste einer Abfrage von hydrate().
+     */
+    public static final int hydrate_chunk_size = 500;
+
+    /**
+     * Vergibt die nächste Zeilenversion, siehe Migration V004.
+     */
+    private static final String next_row_version = "NEXT VALUE FOR employee_row_version_seq";
+
+    /**
+     * Mitarbeiter-ID des Grabsteins, der eine Wiederherstellung der Datenbank markiert. Echte IDs beginnen bei 1.
+     */
+    public static final int restore_marker_id = 0;
+
+    private static final String tombstone_command = "MERGE INTO employee_tombstone (employee_id, row_version, deleted_at) "
+            + "KEY (employee_id) VALUES (?, " + next_row_version + ", CURRENT_TIMESTAMP)";
+
+    /**
+     * Änderungen seit einer bekannten Zeilenversion.
+     * @param changed Eingefügte oder geänderte Mitarbeiter, teilweise geladen wie beim Laden des Caches.
+     * @param removedIds IDs der seitdem gelöschten Mitarbeiter.
+     * @param version Höchste gesehene Zeilenversion, Ausgangspunkt für die nächste Abfrage.
+     * @param reset Die Datenbank wurde seitdem wiederhergestellt, das Delta ist unvollständig und der Cache muss neu geladen werden.
+     */
+    public record Delta(List<Employee> changed, List<Integer> removedIds, long version, boolean reset) {
+
+        public boolean isEmpty() {
+            return changed.isEmpty() && removedIds.isEmpty() && !reset;
+        }
+    }
+
+    private static final Set<EmployeeField> all_fields = EnumSet.allOf(EmployeeField.class);
+
     /**
      * Fügt einen Mitarbeiter in die Datenbank des DbManagers hinzu.
      * Verwendet PreparedStatement für Sicherheit und korrekte Typenbehandlung.
+     * Die von der Datenbank vergebene ID wird in das Mitarbeiter-Objekt zurückgeschrieben.
      * @param employee Mitarbeiter-Objekt, wessen Daten in die Datenbank eingefügt werden.
      * @author Elias Glauert, Dorian Gläske
      */
     public void addEmployeeToDb(Employee employee) {
-        String sqlCommand = SqlReader.giveCommand("addEmployee");
+        String sqlCommand = SqlRegistry.command("addEmployee");
 
         try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sqlCommand)) {
-
-            pstmt.setString(1, employee.getUsername());
-            pstmt.setString(2, employee.getPassword());
-            pstmt.setString(3, employee.getPermissionString());
-            pstmt.setString(4, employee.getFirstName());
-            pstmt.setString(5, employee.getLastName());
-            pstmt.setString(6, employee.getEmail());
-            pstmt.setString(7, employee.getPhoneNumber());
-
-
-            if (employee.getDateOfBirth() != null) {
-                pstmt.setDate(8, new java.sql.Date(employee.getDateOfBirth().getTime()));
-            } else {
-                pstmt.setNull(8, Types.DATE);
+             PreparedStatement pstmt = conn.prepareStatement(sqlCommand, Statement.RETURN_GENERATED_KEYS)) {
+
+            // Vor dem Lesen der Werte zurücksetzen, spätere Änderungen aus dem EDT bleiben so markiert
+            employee.takeDirtyFields();
+            EmployeeRowCodec.bindInsert(pstmt, employee);
+
+            // Mitarbeiter und Zuordnungstabellen werden gemeinsam geschrieben
+            conn.setAutoCommit(false);
+            try {
+                pstmt.executeUpdate();
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        employee.setId(keys.getInt(1));
+                    }
+                }
+                EmployeeSkillDao.sync(conn, List.of(employee), all_fields);
+                readRowVersions(conn, List.of(employee));
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                employee.setId(0);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
+            employee.markTracked();
+            System.out.println("Employee added to DB: " + employee.getUsername());
 
-            pstmt.setString(9, employee.getAddress());
-            pstmt.setString(10, String.valueOf(employee.getGender()));
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Hinzufügen des Mitarbeiters " + employee.getUsername() + " zur DB: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
+    /**
+     * Fügt mehrere Mitarbeiter per JDBC-Batch in die Datenbank ein.
+     * Verwendet die Standard-Chunkgröße.
+     * @param employees Mitarbeiter, die eingefügt werden sollen.
+     * @return Anzahl der eingefügten Mitarbeiter.
+     * @author Elias Glauert
+     */
+    public int addEmployeesBatch(Collection<Employee> employees) {
+        return addEmployeesBatch(employees, default_batch_chunk_size);
+    }
 
-            if (employee.getHireDate() != null) {
-                pstmt.setDate(11, new java.sql.Date(employee.getHireDate().getTime()));
-            } else {
-                pstmt.setNull(11, Types.DATE);
-            }
+    /**
+     * Fügt mehrere Mitarbeiter per JDBC-Batch in die Datenbank ein.
+     * Jeder Chunk wird in einer eigenen Transaktion geschrieben; schlägt ein Chunk fehl, wird nur dieser zurückgerollt
+     * und der Vorgang abgebrochen. Die von der Datenbank vergebenen IDs werden in die Mitarbeiter-Objekte zurückgeschrieben.
+     * @param employees Mitarbeiter, die eingefügt werden sollen.
+     * @param chunkSize Anzahl der Mitarbeiter pro Transaktion.
+     * @return Anzahl der erfolgreich eingefügten Mitarbeiter.
+     * @author Elias Glauert
+     */
+    public int addEmployeesBatch(Collection<Employee> employees, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Die Chunkgröße muss mindestens 1 sein.");
+        }
+        if (employees.isEmpty()) return 0;
 
-            pstmt.setString(12, employee.getEmploymentStatus());
-            pstmt.setString(13, employee.getDepartmentId());
-            pstmt.setString(14, employee.getTeamId());
-            pstmt.setString(15, employee.getRoleId());
-            pstmt.setString(16, employee.getQualifications());
-            pstmt.setString(17, employee.getCompletedTrainings());
+        String sqlCommand = SqlRegistry.command("addEmployee");
+        int inserted = 0;
+        long start = System.nanoTime();
 
-            if (employee.getManagerId() != null) {
-                pstmt.setInt(18, employee.getManagerId());
-            } else {
-                pstmt.setNull(18, Types.INTEGER);
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sqlCommand, Statement.RETURN_GENERATED_KEYS)) {
+            conn.setAutoCommit(false);
+
+            List<Employee> chunk = new ArrayList<>(Math.min(chunkSize, employees.size()));
+            for (Employee employee : employees) {
+                employee.takeDirtyFields();
+                EmployeeRowCodec.bindInsert(pstmt, employee);
+                pstmt.addBatch();
+                chunk.add(employee);
+
+                if (chunk.size() == chunkSize) {
+                    inserted += flushInsertChunk(conn, pstmt, chunk);
+                }
             }
+            if (!chunk.isEmpty()) {
+                inserted += flushInsertChunk(conn, pstmt, chunk);
+            }
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Batch-Insert nach " + inserted + " von " + employees.size() + " Mitarbeitern: " + e.getMessage());
+            e.printStackTrace();
+        }
 
-            pstmt.setBoolean(19, employee.isItAdmin());
-            pstmt.setBoolean(20, employee.isHr());
-            pstmt.setBoolean(21, employee.isHrHead());
-            pstmt.setBoolean(22, employee.isManager());
-
-            pstmt.executeUpdate();
-            System.out.println("Employee added to DB: " + employee.getUsername());
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("addEmployeesBatch() - " + inserted + " Mitarbeiter in " + millis + " ms eingefügt.");
+        return inserted;
+    }
 
+    /**
+     * Führt den aktuellen Batch aus, committet ihn und schreibt die generierten IDs zurück.
+     * Bei einem Fehler wird der Chunk zurückgerollt.
+     * @author Elias Glauert
+     */
+    private int flushInsertChunk(Connection conn, PreparedStatement pstmt, List<Employee> chunk) throws SQLException {
+        try {
+            pstmt.executeBatch();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                int i = 0;
+                while (keys.next() && i < chunk.size()) {
+                    chunk.get(i++).setId(keys.getInt(1));
+                }
+            }
+            EmployeeSkillDao.sync(conn, chunk, all_fields);
+            readRowVersions(conn, chunk);
+            conn.commit();
         } catch (SQLException e) {
-            System.err.println("Fehler beim Hinzufügen des Mitarbeiters " + employee.getUsername() + " zur DB: " + e.getMessage());
-            e.printStackTrace();
+            conn.rollback();
+            pstmt.clearBatch();
+            chunk.forEach(employee -> employee.setId(0));
+            throw e;
         }
+        chunk.forEach(Employee::markTracked);
+        int flushed = chunk.size();
+        chunk.clear();
+        return flushed;
     }
 
     private boolean doesEmployeeExistInDb(Employee employee) {
@@ -143,11 +265,24 @@ public class EmployeeDao {
 
     public ArrayList<Employee> getAllEmployeesFromDb() {
         System.out.println(" ~ getAllEmployeesFromDb()");
+        return loadAll(false);
+    }
+
+    /**
+     * Lädt alle Mitarbeiter ohne Passwort, Adresse, Qualifikationen und Schulungen.
+     * Diese Felder werden beim ersten Zugriff auf einen Mitarbeiter einzeln oder über {@link #hydrate} gesammelt nachgeladen.
+     * Gedacht für den Cache, der die Felder für die meisten Mitarbeiter nie braucht.
+     * @return Alle Mitarbeiter, teilweise geladen.
+     * @author Elias Glauert
+     */
+    public ArrayList<Employee> getAllEmployeesPartialFromDb() {
+        System.out.println(" ~ getAllEmployeesPartialFromDb()");
+        return loadAll(true);
+    }
+
+    private ArrayList<Employee> loadAll(boolean partial) {
         ArrayList<Employee> ret_list = new ArrayList<>();
-        String query = "SELECT id, username, password, permission_string, first_name, last_name, " +
-                "email, phone_number, date_of_birth, address, gender, hire_date, employment_status, " +
-                "department_id, team_id, role_id, qualifications, completed_trainings, manager_id, " +
-                "it_admin, hr, hr_head, is_manager FROM Employees";
+        String query = "SELECT " + (partial ? EmployeeRowCodec.select_partial_columns : EmployeeRowCodec.select_columns) + " FROM Employees";
 
         try (Connection conn = dbManager.getConnection()) {
             if (conn == null || conn.isClosed()) {
@@ -159,38 +294,7 @@ public class EmployeeDao {
                  ResultSet rs = stmt.executeQuery(query)) {
                 try {
                     while (rs.next()) {
-                        java.sql.Date sqlDateOfBirth = rs.getDate("date_of_birth");
-                        Date dateOfBirth = (sqlDateOfBirth != null) ? new Date(sqlDateOfBirth.getTime()) : null;
-
-                        java.sql.Date sqlHireDate = rs.getDate("hire_date");
-                        Date hireDate = (sqlHireDate != null) ? new Date(sqlHireDate.getTime()) : null;
-
-                        Employee employee = new Employee(
-                                rs.getInt("id"),
-                                rs.getString("username"),
-                                rs.getString("password"),
-                                rs.getString("permission_string"),
-                                rs.getString("first_name"),
-                                rs.getString("last_name"),
-                                rs.getString("email"),
-                                rs.getString("phone_number"),
-                                dateOfBirth,
-                                rs.getString("address"),
-                                rs.getString("gender").charAt(0),
-                                hireDate,
-                                rs.getString("employment_status"),
-                                rs.getString("department_id"),
-                                rs.getString("team_id"),
-                                rs.getString("role_id"),
-                                rs.getString("qualifications"),
-                                rs.getString("completed_trainings"),
-                                rs.getObject("manager_id", Integer.class),
-                                rs.getBoolean("it_admin"),
-                                rs.getBoolean("hr"),
-                                rs.getBoolean("hr_head"),
-                                rs.getBoolean("is_manager")
-                        );
-                        ret_list.add(employee);
+                        ret_list.add(partial ? EmployeeRowCodec.readPartial(rs, lazyHydrator) : EmployeeRowCodec.read(rs));
                     }
                 } catch (org.h2.jdbc.JdbcSQLNonTransientException e) {
                     System.err.println("DATABASE LOADING 'ERROR' - HARMLESS IF DATA IS LOADED (EmployeeDao; H2 issue): " + e.getMessage());
@@ -204,6 +308,216 @@ public class EmployeeDao {
         return ret_list;
     }
 
+    /**
+     * Lädt die fehlenden Felder teilweise geladener Mitarbeiter mit einer Abfrage pro {@link #hydrate_chunk_size} IDs nach.
+     * Vollständig geladene und noch nicht gespeicherte Mitarbeiter werden übersprungen.
+     * Gibt es einen Mitarbeiter nicht mehr in der Datenbank, bleiben seine fehlenden Felder leer.
+     * @param employees Die Mitarbeiter, deren Felder gebraucht werden.
+     * @throws SQLException Falls das Laden fehlschlägt, die Mitarbeiter sind dann höchstens zum Teil nachgeladen.
+     * @author Elias Glauert
+     */
+    public void hydrate(Collection<Employee> employees) throws SQLException {
+        Map<Integer, List<Employee>> pending = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            if (!employee.isHydrated() && employee.getId() > 0) {
+                pending.computeIfAbsent(employee.getId(), _ -> new ArrayList<>()).add(employee);
+            }
+        }
+        if (pending.isEmpty()) return;
+
+        List<Integer> ids = new ArrayList<>(pending.keySet());
+        try (Connection conn = dbManager.getConnection()) {
+            for (int start = 0; start < ids.size(); start += hydrate_chunk_size) {
+                List<Integer> chunk = ids.subList(start, Math.min(start + hydrate_chunk_size, ids.size()));
+                String query = "SELECT id, " + EmployeeRowCodec.lazy_columns + " FROM Employees WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            for (Employee employee : pending.get(rs.getInt(1))) {
+                                EmployeeRowCodec.readLazyFields(rs, employee);
+                            }
+                        }
+                    }
+                }
+                for (int id : chunk) {
+                    for (Employee employee : pending.get(id)) {
+                        // Nicht gefundene Zeilen: Felder leer lassen, statt bei jedem Zugriff erneut zu suchen
+                        for (EmployeeField field : employee.getMissingFields()) {
+                            employee.hydrate(field, null);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Wird von teilweise geladenen Mitarbeitern beim ersten Zugriff auf ein fehlendes Feld aufgerufen.
+     * Schlägt das Nachladen fehl, bleiben die Felder als fehlend markiert und der nächste Zugriff versucht es erneut.
+     */
+    private void hydrateOne(Employee employee) {
+        try {
+            hydrate(List.of(employee));
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Nachladen der Felder von Mitarbeiter " + employee.getId() + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Übergibt alle Mitarbeiter nacheinander an den Consumer, ohne sie vorher in einer Liste zu sammeln.
+     * Verwendet die Standard-Fetchgröße.
+     * @param consumer Bekommt jeden Mitarbeiter genau einmal, aufsteigend nach ID.
+     * @return Anzahl der gelesenen Mitarbeiter.
+     * @throws SQLException Falls das Lesen fehlschlägt, der Consumer hat dann nur einen Teil der Mitarbeiter bekommen.
+     * @author Elias Glauert
+     */
+    public long forEachEmployee(Consumer<Employee> consumer) throws SQLException {
+        return forEachEmployee(new EmployeeFilter(), default_fetch_size, consumer);
+    }
+
+    /**
+     * Übergibt alle Mitarbeiter, auf die der Filter zutrifft, nacheinander an den Consumer.
+     * Die Abfrage läuft mit LAZY_QUERY_EXECUTION über einen Vorwärts-Cursor, H2 erzeugt die Zeilen also erst beim Lesen.
+     * Der Speicherbedarf hängt damit nur von der Fetchgröße ab und nicht von der Größe der Tabelle.
+     * Die Verbindung bleibt belegt, bis der Consumer alle Mitarbeiter verarbeitet hat.
+     * @param filter Der Filter, ein leerer Filter liefert alle Mitarbeiter.
+     * @param fetchSize Anzahl der Zeilen, die H2 auf einmal liefert.
+     * @param consumer Bekommt jeden Mitarbeiter genau einmal, aufsteigend nach ID.
+     * @return Anzahl der gelesenen Mitarbeiter.
+     * @throws SQLException Falls das Lesen fehlschlägt, der Consumer hat dann nur einen Teil der Mitarbeiter bekommen.
+     * @author Elias Glauert
+     */
+    public long forEachEmployee(EmployeeFilter filter, int fetchSize, Consumer<Employee> consumer) throws SQLException {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Die Fetchgröße muss mindestens 1 sein.");
+        }
+        StringBuilder query = new StringBuilder("SELECT " + EmployeeRowCodec.select_columns + " FROM Employees");
+        filter.appendWhere(query);
+        query.append(" ORDER BY id");
+
+        long rows = 0;
+        try (Connection conn = dbManager.getConnection();
+             Statement lazyStmt = conn.createStatement()) {
+            lazyStmt.execute("SET LAZY_QUERY_EXECUTION TRUE");
+            try (PreparedStatement pstmt = conn.prepareStatement(query.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                pstmt.setFetchSize(fetchSize);
+                filter.bind(pstmt, 1);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(EmployeeRowCodec.read(rs));
+                        rows++;
+                    }
+                }
+            } finally {
+                // Die Verbindung geht zurück in den Pool, die Einstellung gilt aber für die ganze Session
+                lazyStmt.execute("SET LAZY_QUERY_EXECUTION FALSE");
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Lädt nur die Mitarbeiter, auf die der Filter zutrifft. Die Bedingungen werden als parametrisierte
+     * WHERE-Klausel an die Datenbank geschickt, sodass die Indizes auf den Spalten genutzt werden.
+     * @param filter Der Filter, ein leerer Filter liefert alle Mitarbeiter.
+     * @return Die passenden Mitarbeiter, aufsteigend nach ID sortiert.
+     * @author Elias Glauert
+     */
+    public List<Employee> findEmployees(EmployeeFilter filter) {
+        StringBuilder query = new StringBuilder("SELECT " + EmployeeRowCodec.select_columns + " FROM Employees");
+        filter.appendWhere(query);
+        query.append(" ORDER BY id");
+
+        List<Employee> ret_list = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query.toString())) {
+            filter.bind(pstmt, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ret_list.add(EmployeeRowCodec.read(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("SQL Fehler beim gefilterten Laden von Mitarbeitern: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return ret_list;
+    }
+
+    /**
+     * Lädt eine Seite von Mitarbeitern per Keyset-Pagination über den Primärschlüssel.
+     * Statt OFFSET wird ab der letzten ID der vorherigen Seite gelesen, sodass jede Seite gleich schnell ist
+     * und die Reihenfolge stabil bleibt, auch wenn zwischendurch Mitarbeiter hinzukommen oder gelöscht werden.
+     * @param afterId Letzte ID der vorherigen Seite, 0 für die erste Seite.
+     * @param limit Maximale Anzahl Mitarbeiter auf der Seite.
+     * @param filter Zusätzlicher Filter, ein leerer Filter liefert alle Mitarbeiter.
+     * @return Die Mitarbeiter der Seite, aufsteigend nach ID. Ist die Liste kürzer als limit, ist es die letzte Seite.
+     * @author Elias Glauert
+     */
+    public List<Employee> findPage(int afterId, int limit, EmployeeFilter filter) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Die Seitengröße muss mindestens 1 sein.");
+        }
+        StringBuilder query = new StringBuilder("SELECT " + EmployeeRowCodec.select_columns + " FROM Employees WHERE id > ?");
+        if (!filter.isEmpty()) {
+            query.append(" AND ");
+            filter.appendConditions(query);
+        }
+        query.append(" ORDER BY id LIMIT ?");
+
+        List<Employee> ret_list = new ArrayList<>(limit);
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query.toString())) {
+            pstmt.setInt(1, afterId);
+            int next = filter.bind(pstmt, 2);
+            pstmt.setInt(next, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ret_list.add(EmployeeRowCodec.read(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("SQL Fehler beim Laden einer Mitarbeiter-Seite nach ID " + afterId + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+        return ret_list;
+    }
+
+    /**
+     * Lädt nur ID, Name, E-Mail und Abteilung der Mitarbeiter, auf die der Filter zutrifft.
+     * Für Listen und Suchergebnisse, die keine vollständigen Mitarbeiter brauchen.
+     * @param filter Der Filter, ein leerer Filter liefert alle Mitarbeiter.
+     * @return Die Zusammenfassungen, aufsteigend nach ID sortiert.
+     * @author Elias Glauert
+     */
+    public List<EmployeeSummary> findSummaries(EmployeeFilter filter) {
+        StringBuilder query = new StringBuilder("SELECT id, first_name, last_name, email, department_id FROM Employees");
+        filter.appendWhere(query);
+        query.append(" ORDER BY id");
+
+        List<EmployeeSummary> ret_list = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query.toString())) {
+            filter.bind(pstmt, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ret_list.add(new EmployeeSummary(rs.getInt(1), rs.getString(2), rs.getString(3),
+                            rs.getString(4), rs.getString(5)));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("SQL Fehler beim Laden der Mitarbeiter-Zusammenfassungen: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return ret_list;
+    }
+
     public void setEmployeeManager(core.EmployeeManager employeeManager) {
         this.employeeManager = employeeManager;
     }
@@ -215,115 +529,317 @@ public class EmployeeDao {
     }
 
     /**
-     * Aktualisiert einen Mitarbeiter in der Datenbank.
-     * Verwendet PreparedStatement für Sicherheit und korrekte Typenbehandlung.
+     * Aktualisiert einen bestehenden Mitarbeiter in der Datenbank.
+     * Ist der Mitarbeiter aus der Datenbank geladen worden, werden nur die seitdem geänderten Spalten geschrieben,
+     * ohne Änderungen wird gar nichts geschrieben. Bei einem nicht verfolgten Objekt werden alle Spalten geschrieben.
      * @param updatedEmployee Der aktualisierte Mitarbeiter
      * @throws Exception Falls ein Fehler bei der Aktualisierung auftritt
-     * @author Joshua Sperber
+     * @author Joshua Sperber, Elias Glauert
      */
     public void updateEmployee(Employee updatedEmployee) throws Exception {
-        try {
-            String sql = "UPDATE Employees SET " +
-                    "username = ?, " +
-                    "password = ?, " +
-                    "permission_string = ?, " +
-                    "first_name = ?, " +
-                    "last_name = ?, " +
-                    "email = ?, " +
-                    "phone_number = ?, " +
-                    "date_of_birth = ?, " +
-                    "address = ?, " +
-                    "gender = ?, " +
-                    "hire_date = ?, " +
-                    "employment_status = ?, " +
-                    "department_id = ?, " +
-                    "team_id = ?, " +
-                    "role_id = ?, " +
-                    "qualifications = ?, " +
-                    "completed_trainings = ?, " +
-                    "manager_id = ?, " +
-                    "it_admin = ?, " +
-                    "hr = ?, " +
-                    "hr_head = ?, " +
-                    "is_manager = ? " +
-                    "WHERE id = ?";
+        Set<EmployeeField> columns = takeColumnsToUpdate(updatedEmployee);
+        if (columns.isEmpty()) return;
 
-            try (Connection conn = dbManager.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-                stmt.setString(1, updatedEmployee.getUsername());
-                stmt.setString(2, updatedEmployee.getPassword());
-                stmt.setString(3, updatedEmployee.getPermissionString());
-                stmt.setString(4, updatedEmployee.getFirstName());
-                stmt.setString(5, updatedEmployee.getLastName());
-                stmt.setString(6, updatedEmployee.getEmail());
-                stmt.setString(7, updatedEmployee.getPhoneNumber());
-
-                if (updatedEmployee.getDateOfBirth() != null) {
-                    stmt.setDate(8, new java.sql.Date(updatedEmployee.getDateOfBirth().getTime()));
-                } else {
-                    stmt.setNull(8, Types.DATE);
-                }
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(buildUpdateSql(columns))) {
 
-                stmt.setString(9, updatedEmployee.getAddress());
-                stmt.setString(10, String.valueOf(updatedEmployee.getGender()));
+            bindUpdateParameters(stmt, columns, updatedEmployee);
+            // In einer Transaktion, damit die nachgelesene Zeilenversion sicher die eigene ist
+            conn.setAutoCommit(false);
+            try {
+                int affectedRows = stmt.executeUpdate();
 
-                if (updatedEmployee.getHireDate() != null) {
-                    stmt.setDate(11, new java.sql.Date(updatedEmployee.getHireDate().getTime()));
-                } else {
-                    stmt.setNull(11, Types.DATE);
+                if (affectedRows == 0) {
+                    throw new SQLException("Update fehlgeschlagen, kein Datensatz wurde aktualisiert.");
+                }
+                // Nur wenn Qualifikationen oder Schulungen geändert wurden, müssen weitere Tabellen mitgeschrieben werden
+                if (EmployeeSkillDao.affects(columns)) {
+                    EmployeeSkillDao.sync(conn, List.of(updatedEmployee), columns);
                 }
+                readRowVersions(conn, List.of(updatedEmployee));
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            updatedEmployee.markTracked();
+        } catch (SQLException e) {
+            updatedEmployee.restoreDirtyFields(columns);
+            System.err.println("Fehler beim Aktualisieren des Mitarbeiters " + updatedEmployee.getUsername() + ": " + e.getMessage());
+            throw new Exception("Datenbankfehler beim Aktualisieren: " + e.getMessage(), e);
+        }
+    }
 
-                stmt.setString(12, updatedEmployee.getEmploymentStatus());
-                stmt.setString(13, updatedEmployee.getDepartmentId());
-                stmt.setString(14, updatedEmployee.getTeamId());
-                stmt.setString(15, updatedEmployee.getRoleId());
-                stmt.setString(16, updatedEmployee.getQualifications());
-                stmt.setString(17, updatedEmployee.getCompletedTrainings());
+    /**
+     * Schreibt die Änderungen mehrerer Mitarbeiter in einer Transaktion.
+     * Mitarbeiter mit denselben geänderten Spalten teilen sich ein UPDATE-Statement und werden als JDBC-Batch gesendet.
+     * Schlägt ein Update fehl, wird die gesamte Transaktion zurückgerollt.
+     * @param employees Die geänderten Mitarbeiter.
+     * @return Anzahl der Mitarbeiter, für die tatsächlich etwas geschrieben wurde.
+     * @throws Exception Falls ein Fehler auftritt oder ein Mitarbeiter nicht in der Datenbank steht.
+     * @author Elias Glauert
+     */
+    public int updateEmployeesBatch(Collection<Employee> employees) throws Exception {
+        Map<Set<EmployeeField>, List<Employee>> byColumns = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            Set<EmployeeField> columns = takeColumnsToUpdate(employee);
+            if (columns.isEmpty()) continue;
+            byColumns.computeIfAbsent(columns, _ -> new ArrayList<>()).add(employee);
+        }
+        if (byColumns.isEmpty()) return 0;
 
-                if (updatedEmployee.getManagerId() != null) {
-                    stmt.setInt(18, updatedEmployee.getManagerId());
-                } else {
-                    stmt.setNull(18, Types.INTEGER);
+        int updated = 0;
+        long start = System.nanoTime();
+        try (Connection conn = dbManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (Map.Entry<Set<EmployeeField>, List<Employee>> group : byColumns.entrySet()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(buildUpdateSql(group.getKey()))) {
+                        for (Employee employee : group.getValue()) {
+                            bindUpdateParameters(stmt, group.getKey(), employee);
+                            stmt.addBatch();
+                        }
+                        int[] counts = stmt.executeBatch();
+                        for (int i = 0; i < counts.length; i++) {
+                            if (counts[i] == 0) {
+                                throw new SQLException("Update fehlgeschlagen, Mitarbeiter " + group.getValue().get(i).getId() + " nicht gefunden.");
+                            }
+                        }
+                        updated += counts.length;
+                    }
+                    if (EmployeeSkillDao.affects(group.getKey())) {
+                        EmployeeSkillDao.sync(conn, group.getValue(), group.getKey());
+                    }
+                    readRowVersions(conn, group.getValue());
                 }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            byColumns.forEach((columns, group) -> group.forEach(employee -> employee.restoreDirtyFields(columns)));
+            System.err.println("Fehler beim Batch-Update von " + employees.size() + " Mitarbeitern: " + e.getMessage());
+            throw new Exception("Datenbankfehler beim Aktualisieren: " + e.getMessage(), e);
+        }
 
-                stmt.setBoolean(19, updatedEmployee.isItAdmin());
-                stmt.setBoolean(20, updatedEmployee.isHr());
-                stmt.setBoolean(21, updatedEmployee.isHrHead());
-                stmt.setBoolean(22, updatedEmployee.isManager());
-
-                stmt.setInt(23, updatedEmployee.getId());
+        byColumns.values().forEach(group -> group.forEach(Employee::markTracked));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("updateEmployeesBatch() - " + updated + " Mitarbeiter in " + byColumns.size() + " Statements und " + millis + " ms aktualisiert.");
+        return updated;
+    }
 
-                int affectedRows = stmt.executeUpdate();
+    /**
+     * Bestimmt die zu schreibenden Spalten: die geänderten Felder eines verfolgten Mitarbeiters, sonst alle außer der ID.
+     * Die Markierungen werden dabei zurückgesetzt, bevor die Werte gelesen werden. Schlägt das Schreiben fehl,
+     * stellt der Aufrufer sie mit {@link Employee#restoreDirtyFields(Set)} wieder her.
+     * @author Elias Glauert
+     */
+    private Set<EmployeeField> takeColumnsToUpdate(Employee employee) {
+        Set<EmployeeField> dirty = employee.takeDirtyFields();
+        if (employee.isTracked()) {
+            return dirty;
+        }
+        return EnumSet.complementOf(EnumSet.of(EmployeeField.ID));
+    }
 
-                if (affectedRows == 0) {
-                    throw new SQLException("Update fehlgeschlagen, kein Datensatz wurde aktualisiert.");
+    /**
+     * Liest die Zeilenversionen gerade geschriebener Mitarbeiter in der laufenden Transaktion nach. Der nächste Abgleich
+     * des Caches erkennt so die eigenen Änderungen und ersetzt die Objekte nicht durch neu gelesene Kopien.
+     * @author Elias Glauert
+     */
+    private static void readRowVersions(Connection conn, List<Employee> employees) throws SQLException {
+        Map<Integer, Employee> byId = new HashMap<>();
+        for (Employee employee : employees) {
+            byId.put(employee.getId(), employee);
+        }
+        List<Integer> ids = new ArrayList<>(byId.keySet());
+        for (int start = 0; start < ids.size(); start += hydrate_chunk_size) {
+            List<Integer> chunk = ids.subList(start, Math.min(start + hydrate_chunk_size, ids.size()));
+            String query = "SELECT id, row_version FROM Employees WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        byId.get(rs.getInt(1)).setRowVersion(rs.getLong(2));
+                    }
                 }
             }
-        } catch (SQLException e) {
-            System.err.println("Fehler beim Aktualisieren des Mitarbeiters " + updatedEmployee.getUsername() + ": " + e.getMessage());
-            throw new Exception("Datenbankfehler beim Aktualisieren: " + e.getMessage(), e);
         }
     }
 
+    private String buildUpdateSql(Set<EmployeeField> columns) {
+        StringBuilder sql = new StringBuilder("UPDATE Employees SET ");
+        int i = 0;
+        for (EmployeeField field : columns) {
+            if (i++ > 0) sql.append(", ");
+            sql.append(field.getColumn()).append(" = ?");
+        }
+        // Jede Änderung bekommt eine neue Zeilenversion, damit andere Caches sie beim nächsten Abgleich finden
+        sql.append(", row_version = ").append(next_row_version).append(", updated_at = CURRENT_TIMESTAMP");
+        return sql.append(" WHERE id = ?").toString();
+    }
+
+    private void bindUpdateParameters(PreparedStatement stmt, Set<EmployeeField> columns, Employee employee) throws SQLException {
+        int index = 1;
+        for (EmployeeField field : columns) {
+            EmployeeRowCodec.bind(stmt, index++, field, employee);
+        }
+        stmt.setInt(index, employee.getId());
+    }
+
     /**
      * Löscht einen Mitarbeiter aus der Datenbank anhand seiner ID.
+     * Hinterlässt in derselben Transaktion einen Grabstein, damit andere Caches die Löschung beim Abgleich sehen.
      * @param id Die ID des zu löschenden Mitarbeiters.
+     * @throws SQLException Falls das Löschen fehlschlägt, der Mitarbeiter ist dann noch in der Datenbank.
      * @author Elias Glauert
      */
-    public void removeEmployee(int id) {
-        String sqlCommand = SqlReader.giveCommand("removeEmployee");
+    public void removeEmployee(int id) throws SQLException {
+        String sqlCommand = SqlRegistry.command("removeEmployee");
 
         try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sqlCommand)) {
+             PreparedStatement pstmt = conn.prepareStatement(sqlCommand);
+             PreparedStatement tombstoneStmt = conn.prepareStatement(tombstone_command)) {
+
+            conn.setAutoCommit(false);
+            try {
+                pstmt.setInt(1, id);
+                if (pstmt.executeUpdate() > 0) {
+                    tombstoneStmt.setInt(1, id);
+                    tombstoneStmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            System.out.println("Employee removed from DB: " + id);
+        }
+    }
 
-            pstmt.setInt(1, id);
+    /**
+     * Markiert, dass die Mitarbeiter durch eine Wiederherstellung ersetzt wurden. Die wiederhergestellten Zeilen tragen
+     * ihre alten Versionen und Löschungen seit dem Backup haben keinen Grabstein, ein Delta würde beides nicht finden.
+     * Der nächste Abgleich jeder Instanz liefert deshalb ein {@link Delta} mit reset und lädt neu.
+     * Setzt voraus, dass die Sequenz nach dem Kopieren nicht zurückgelaufen ist, siehe {@link db.BackupEngine}.
+     * @throws SQLException Falls das Schreiben fehlschlägt.
+     * @author Elias Glauert
+     */
+    public void markRestored() throws SQLException {
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(tombstone_command)) {
+            pstmt.setInt(1, restore_marker_id);
             pstmt.executeUpdate();
-            System.out.println("Employee removed from DB: " + id);
+        }
+    }
 
-        } catch (SQLException e) {
-            System.err.println("Error removing employee from DB: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Die höchste vergebene Zeilenversion von Mitarbeitern und Grabsteinen.
+     * Wird vor einem vollständigen Laden gelesen, damit der nächste Abgleich alles findet, was währenddessen geändert wurde.
+     * @return Die Version, 0 bei einer leeren Datenbank.
+     * @author Elias Glauert
+     */
+    public long getCurrentRowVersion() throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            return readCurrentRowVersion(conn);
+        }
+    }
+
+    private static long readCurrentRowVersion(Connection conn) throws SQLException {
+        String query = "SELECT GREATEST(COALESCE((SELECT MAX(row_version) FROM Employees), 0), "
+                + "COALESCE((SELECT MAX(row_version) FROM employee_tombstone), 0))";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Liest alle Mitarbeiter und Löschungen mit einer höheren Zeilenversion als der angegebenen.
+     * Beide Abfragen laufen über einen Index auf row_version, ohne Änderungen kostet ein Abgleich also kaum etwas.
+     * Sie lesen in einer Transaktion mit Repeatable Read denselben Stand und sind durch die zu Beginn gelesene höchste
+     * Version begrenzt, ein Schreibvorgang zwischen den beiden Abfragen kann also nicht halb gesehen und übersprungen werden.
+     * <p>
+     * Der Abgleich ist nur best-effort: Die Versionen werden beim Schreiben vergeben, nicht beim Commit. Committet eine
+     * Transaktion erst nach einem Abgleich, der bereits eine höhere Version gesehen hat, wird ihre Änderung erst beim
+     * nächsten vollständigen Laden sichtbar. Die Transaktionen dieses DAOs sind kurz, das Fenster ist also klein,
+     * aber nicht geschlossen.
+     * @param version Die zuletzt bekannte Version, z.B. aus {@link #getCurrentRowVersion()} oder dem letzten Delta.
+     * @return Die Änderungen. Wurde ein Mitarbeiter gelöscht und mit derselben ID neu angelegt, zählt nur der neuere Stand.
+     * @throws SQLException Falls das Lesen fehlschlägt.
+     * @author Elias Glauert
+     */
+    public Delta findChangesSince(long version) throws SQLException {
+        List<Employee> changed = new ArrayList<>();
+        Map<Integer, Long> changedVersions = new HashMap<>();
+        List<Integer> removedIds = new ArrayList<>();
+        boolean reset = false;
+        long maxVersion = version;
+
+        String changedQuery = "SELECT " + EmployeeRowCodec.select_partial_columns + " FROM Employees "
+                + "WHERE row_version > ? AND row_version <= ? ORDER BY row_version";
+        String removedQuery = "SELECT employee_id, row_version FROM employee_tombstone "
+                + "WHERE row_version > ? AND row_version <= ? ORDER BY row_version";
+
+        try (Connection conn = dbManager.getConnection()) {
+            int previousIsolation = conn.getTransactionIsolation();
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setAutoCommit(false);
+            try {
+                long bound = readCurrentRowVersion(conn);
+                try (PreparedStatement pstmt = conn.prepareStatement(changedQuery)) {
+                    pstmt.setLong(1, version);
+                    pstmt.setLong(2, bound);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Employee employee = EmployeeRowCodec.readPartial(rs, lazyHydrator);
+                            long rowVersion = employee.getRowVersion();
+                            changed.add(employee);
+                            changedVersions.put(employee.getId(), rowVersion);
+                            maxVersion = Math.max(maxVersion, rowVersion);
+                        }
+                    }
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(removedQuery)) {
+                    pstmt.setLong(1, version);
+                    pstmt.setLong(2, bound);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            int id = rs.getInt(1);
+                            long rowVersion = rs.getLong(2);
+                            if (id == restore_marker_id) {
+                                reset = true;
+                            } else if (changedVersions.getOrDefault(id, Long.MIN_VALUE) < rowVersion) {
+                                removedIds.add(id);
+                            }
+                            maxVersion = Math.max(maxVersion, rowVersion);
+                        }
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+                conn.setTransactionIsolation(previousIsolation);
+            }
+        }
+        if (!removedIds.isEmpty()) {
+            Set<Integer> removed = new HashSet<>(removedIds);
+            changed.removeIf(employee -> removed.contains(employee.getId()));
         }
+        return new Delta(changed, removedIds, maxVersion, reset);
     }
 }
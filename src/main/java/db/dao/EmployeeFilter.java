@@ -0,0 +1,131 @@
+package db.dao;
+
+import model.db.EmployeeField;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filter für Abfragen auf die Tabelle 'Employees', der in eine parametrisierte WHERE-Klausel übersetzt wird.
+ * Spaltennamen stammen ausschließlich aus {@link EmployeeField}, Suchwerte werden immer als Parameter gebunden.
+ * Ein leerer Filter trifft auf alle Mitarbeiter zu.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public class EmployeeFilter {
+
+    private record Condition(EmployeeField field, Object value) {}
+
+    private final List<Condition> conditions = new ArrayList<>();
+
+    /**
+     * Fügt eine Bedingung 'Feld = Wert' hinzu. Ein Wert null wird zu 'IS NULL'.
+     * Der Wert wird passend zum Spaltentyp umgewandelt (z.B. "42" für eine INT-Spalte, "1990-05-17" für eine DATE-Spalte).
+     * @param field Das Feld, nach dem gefiltert wird.
+     * @param value Der gesuchte Wert als String.
+     * @return Dieser Filter, um weitere Bedingungen anzuhängen.
+     * @throws IllegalArgumentException Falls sich der Wert nicht in den Spaltentyp umwandeln lässt.
+     * @author Elias Glauert
+     */
+    public EmployeeFilter equalTo(EmployeeField field, String value) {
+        conditions.add(new Condition(field, value == null ? null : convert(field, value)));
+        return this;
+    }
+
+    /**
+     * Baut einen Filter aus den Feld-/Inhaltslisten, wie sie EmployeeManager.findEmployees bekommt.
+     * @param fields camelCase-Feldnamen.
+     * @param contents Gesuchte Werte, gleiche Länge wie fields.
+     * @return Der Filter oder null, falls ein Feld nicht in der Whitelist steht oder ein Wert nicht zum Spaltentyp passt.
+     * @author Elias Glauert
+     */
+    public static EmployeeFilter fromFieldNames(List<String> fields, List<String> contents) {
+        EmployeeFilter filter = new EmployeeFilter();
+        for (int i = 0; i < fields.size(); i++) {
+            EmployeeField field = EmployeeField.fromFieldName(fields.get(i));
+            if (field == null) return null;
+            try {
+                filter.equalTo(field, contents.get(i));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return filter;
+    }
+
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Hängt die Bedingungen ohne 'WHERE' an, verknüpft mit 'AND'.
+     * @param sql Der SQL-Befehl, an den angehängt wird.
+     * @author Elias Glauert
+     */
+    void appendConditions(StringBuilder sql) {
+        for (int i = 0; i < conditions.size(); i++) {
+            if (i > 0) sql.append(" AND ");
+            Condition condition = conditions.get(i);
+            sql.append(condition.field().getColumn());
+            sql.append(condition.value() == null ? " IS NULL" : " = ?");
+        }
+    }
+
+    /**
+     * Hängt ' WHERE ...' an, falls der Filter Bedingungen hat.
+     * @param sql Der SQL-Befehl, an den angehängt wird.
+     * @author Elias Glauert
+     */
+    void appendWhere(StringBuilder sql) {
+        if (conditions.isEmpty()) return;
+        sql.append(" WHERE ");
+        appendConditions(sql);
+    }
+
+    /**
+     * Bindet die Werte der Bedingungen ab dem angegebenen Parameterindex.
+     * @return Der nächste freie Parameterindex.
+     * @author Elias Glauert
+     */
+    int bind(PreparedStatement pstmt, int firstIndex) throws SQLException {
+        int index = firstIndex;
+        for (Condition condition : conditions) {
+            Object value = condition.value();
+            if (value == null) continue;
+            switch (condition.field().getType()) {
+                case INT -> pstmt.setInt(index, (Integer) value);
+                case BOOLEAN -> pstmt.setBoolean(index, (Boolean) value);
+                case DATE -> pstmt.setObject(index, value, Types.DATE);
+                default -> pstmt.setString(index, (String) value);
+            }
+            index++;
+        }
+        return index;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) return true;
+        if (value.equalsIgnoreCase("false")) return false;
+        throw new NumberFormatException("Kein Wahrheitswert: " + value);
+    }
+
+    private static Object convert(EmployeeField field, String value) {
+        try {
+            return switch (field.getType()) {
+                case INT -> Integer.parseInt(value.trim());
+                case BOOLEAN -> parseBoolean(value.trim());
+                case DATE -> LocalDate.parse(value.trim());
+                case STRING -> value;
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Wert '" + value + "' passt nicht zum Feld " + field.getFieldName() + ".", e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package db.dao;
+
+import core.OrgReferenceRegistry;
+import model.db.Employee;
+import model.db.EmployeeField;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Wandelt Zeilen der Tabelle 'Employees' in Mitarbeiter um und bindet Mitarbeiter an Statements.
+ * Spalten werden über ihren Index statt über ihren Namen angesprochen. Die Reihenfolge ist die von {@link EmployeeField},
+ * sodass die Spalte eines Feldes immer bei ordinal() + 1 liegt. Lesen, Einfügen und Aktualisieren teilen sich
+ * denselben Code pro Feld. Struktur-IDs und Status werden beim Lesen über das OrgReferenceRegistry zusammengefasst.
+ *
+ * @author Elias Glauert
+ * @version 1.3 (Zeilenversion wird mitgelesen)
+ * @since 2025-08-13
+ */
+final class EmployeeRowCodec {
+
+    /**
+     * Position der Zeilenversion hinter den Spalten der Felder, siehe Migration V004.
+     */
+    private static final int row_version_column = EmployeeField.values().length + 1;
+
+    /**
+     * Alle Spalten in der Reihenfolge von {@link EmployeeField} und die Zeilenversion, für 'SELECT ... FROM Employees'.
+     */
+    static final String select_columns = Stream.of(EmployeeField.values())
+            .map(EmployeeField::getColumn)
+            .collect(Collectors.joining(", ")) + ", row_version";
+
+    /**
+     * Felder, die beim teilweisen Laden fehlen und erst bei Bedarf nachgeladen werden.
+     * Sie sind selten gebraucht, machen aber den Großteil der Bytes einer Zeile aus.
+     */
+    static final Set<EmployeeField> lazy_fields = EnumSet.of(
+            EmployeeField.PASSWORD,
+            EmployeeField.ADDRESS,
+            EmployeeField.QUALIFICATIONS,
+            EmployeeField.COMPLETED_TRAININGS);
+
+    /**
+     * Wie {@link #select_columns}, die nachladbaren Spalten werden aber als NULL gelesen.
+     * Die Spaltenpositionen bleiben dadurch gleich und {@link #read} kann unverändert verwendet werden.
+     */
+    static final String select_partial_columns = Stream.of(EmployeeField.values())
+            .map(field -> lazy_fields.contains(field) ? "NULL AS " + field.getColumn() : field.getColumn())
+            .collect(Collectors.joining(", ")) + ", row_version";
+
+    /**
+     * Die nachladbaren Felder in fester Reihenfolge, für 'SELECT id, ...' in {@link #readLazyFields}.
+     */
+    private static final List<EmployeeField> lazy_field_order = List.copyOf(lazy_fields);
+
+    static final String lazy_columns = lazy_field_order.stream()
+            .map(EmployeeField::getColumn)
+            .collect(Collectors.joining(", "));
+
+    private static final EmployeeField[] insert_fields = Stream.of(EmployeeField.values())
+            .filter(field -> field != EmployeeField.ID)
+            .toArray(EmployeeField[]::new);
+
+    private EmployeeRowCodec() {}
+
+    /**
+     * Erstellt einen Mitarbeiter aus der aktuellen Zeile. Die Abfrage muss mit {@link #select_columns} beginnen.
+     * Der Mitarbeiter ist danach als unverändert markiert und hält die geteilten Abteilungs-, Team- und Rollenobjekte.
+     * @author Elias Glauert
+     */
+    static Employee read(ResultSet rs) throws SQLException {
+        Employee employee = new Employee(
+                rs.getInt(column(EmployeeField.ID)),
+                rs.getString(column(EmployeeField.USERNAME)),
+                rs.getString(column(EmployeeField.PASSWORD)),
+                rs.getString(column(EmployeeField.PERMISSION_STRING)),
+                rs.getString(column(EmployeeField.FIRST_NAME)),
+                rs.getString(column(EmployeeField.LAST_NAME)),
+                rs.getString(column(EmployeeField.EMAIL)),
+                rs.getString(column(EmployeeField.PHONE_NUMBER)),
+                readDate(rs, column(EmployeeField.DATE_OF_BIRTH)),
+                rs.getString(column(EmployeeField.ADDRESS)),
+                rs.getString(column(EmployeeField.GENDER)).charAt(0),
+                readDate(rs, column(EmployeeField.HIRE_DATE)),
+                rs.getString(column(EmployeeField.EMPLOYMENT_STATUS)),
+                rs.getString(column(EmployeeField.DEPARTMENT_ID)),
+                rs.getString(column(EmployeeField.TEAM_ID)),
+                rs.getString(column(EmployeeField.ROLE_ID)),
+                rs.getString(column(EmployeeField.QUALIFICATIONS)),
+                rs.getString(column(EmployeeField.COMPLETED_TRAININGS)),
+                readInteger(rs, column(EmployeeField.MANAGER_ID)),
+                rs.getBoolean(column(EmployeeField.IT_ADMIN)),
+                rs.getBoolean(column(EmployeeField.HR)),
+                rs.getBoolean(column(EmployeeField.HR_HEAD)),
+                rs.getBoolean(column(EmployeeField.IS_MANAGER))
+        );
+        OrgReferenceRegistry.attach(employee);
+        employee.setRowVersion(rs.getLong(row_version_column));
+        employee.markClean();
+        return employee;
+    }
+
+    /**
+     * Erstellt einen teilweise geladenen Mitarbeiter. Die Abfrage muss mit {@link #select_partial_columns} beginnen.
+     * @param hydrator Lädt die fehlenden Felder beim ersten Zugriff nach.
+     * @author Elias Glauert
+     */
+    static Employee readPartial(ResultSet rs, Employee.Hydrator hydrator) throws SQLException {
+        Employee employee = read(rs);
+        employee.markPartial(lazy_fields, hydrator);
+        return employee;
+    }
+
+    /**
+     * Übernimmt die nachgeladenen Felder aus einer Zeile von 'SELECT id, ' + {@link #lazy_columns}.
+     * @author Elias Glauert
+     */
+    static void readLazyFields(ResultSet rs, Employee employee) throws SQLException {
+        for (int i = 0; i < lazy_field_order.size(); i++) {
+            employee.hydrate(lazy_field_order.get(i), rs.getString(i + 2));
+        }
+    }
+
+    /**
+     * Setzt die 22 Parameter des addEmployee-Befehls, alle Felder außer der ID in Spaltenreihenfolge.
+     * @author Elias Glauert
+     */
+    static void bindInsert(PreparedStatement pstmt, Employee employee) throws SQLException {
+        for (int i = 0; i < insert_fields.length; i++) {
+            bind(pstmt, i + 1, insert_fields[i], employee);
+        }
+    }
+
+    /**
+     * Bindet den Wert eines einzelnen Feldes des Mitarbeiters an den angegebenen Parameter.
+     * @author Elias Glauert
+     */
+    static void bind(PreparedStatement pstmt, int index, EmployeeField field, Employee employee) throws SQLException {
+        switch (field) {
+            case ID -> pstmt.setInt(index, employee.getId());
+            case USERNAME -> pstmt.setString(index, employee.getUsername());
+            case PASSWORD -> pstmt.setString(index, employee.getPassword());
+            case PERMISSION_STRING -> pstmt.setString(index, employee.getPermissionString());
+            case FIRST_NAME -> pstmt.setString(index, employee.getFirstName());
+            case LAST_NAME -> pstmt.setString(index, employee.getLastName());
+            case EMAIL -> pstmt.setString(index, employee.getEmail());
+            case PHONE_NUMBER -> pstmt.setString(index, employee.getPhoneNumber());
+            case DATE_OF_BIRTH -> bindDate(pstmt, index, employee.getDateOfBirth());
+            case ADDRESS -> pstmt.setString(index, employee.getAddress());
+            case GENDER -> pstmt.setString(index, String.valueOf(employee.getGender()));
+            case HIRE_DATE -> bindDate(pstmt, index, employee.getHireDate());
+            case EMPLOYMENT_STATUS -> pstmt.setString(index, employee.getEmploymentStatus());
+            case DEPARTMENT_ID -> pstmt.setString(index, employee.getDepartmentId());
+            case TEAM_ID -> pstmt.setString(index, employee.getTeamId());
+            case ROLE_ID -> pstmt.setString(index, employee.getRoleId());
+            case QUALIFICATIONS -> pstmt.setString(index, employee.getQualifications());
+            case COMPLETED_TRAININGS -> pstmt.setString(index, employee.getCompletedTrainings());
+            case MANAGER_ID -> {
+                if (employee.getManagerId() != null) {
+                    pstmt.setInt(index, employee.getManagerId());
+                } else {
+                    pstmt.setNull(index, Types.INTEGER);
+                }
+            }
+            case IT_ADMIN -> pstmt.setBoolean(index, employee.isItAdmin());
+            case HR -> pstmt.setBoolean(index, employee.isHr());
+            case HR_HEAD -> pstmt.setBoolean(index, employee.isHrHead());
+            case IS_MANAGER -> pstmt.setBoolean(index, employee.isManager());
+        }
+    }
+
+    private static int column(EmployeeField field) {
+        return field.ordinal() + 1;
+    }
+
+    private static Integer readInteger(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * Liest eine DATE-Spalte als LocalDate und wandelt sie direkt in Mitternacht der lokalen Zeitzone um,
+     * ohne Umweg über java.sql.Date.
+     * @author Elias Glauert
+     */
+    private static Date readDate(ResultSet rs, int column) throws SQLException {
+        LocalDate date = rs.getObject(column, LocalDate.class);
+        if (date == null) return null;
+        return new Date(date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static void bindDate(PreparedStatement pstmt, int index, Date date) throws SQLException {
+        if (date != null) {
+            pstmt.setObject(index, Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate(), Types.DATE);
+        } else {
+            pstmt.setNull(index, Types.DATE);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package db.dao;
+
+import db.DatabaseManager;
+import model.db.Employee;
+import model.db.EmployeeField;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Zugriff auf die normalisierten Tabellen 'employee_skill' und 'employee_training'.
+ * Sie enthalten pro Mitarbeiter eine Zeile je Qualifikation bzw. absolvierter Schulung und werden beim Schreiben
+ * der TEXT-Spalten 'qualifications' und 'completed_trainings' durch den EmployeeDao mitgepflegt.
+ * Beide Richtungen sind über Indizes abgedeckt, sodass weder "wer hat Qualifikation X" noch
+ * "was hat Mitarbeiter Y" die TEXT-Spalten aller Zeilen zerlegen müssen.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public class EmployeeSkillDao {
+
+    /**
+     * Eine der beiden Zuordnungstabellen mit der TEXT-Spalte, aus der sie abgeleitet wird.
+     */
+    private enum Posting {
+        SKILL("employee_skill", "skill_id", EmployeeField.QUALIFICATIONS),
+        TRAINING("employee_training", "training_id", EmployeeField.COMPLETED_TRAININGS);
+
+        private final String table;
+        private final String column;
+        private final EmployeeField source;
+
+        Posting(String table, String column, EmployeeField source) {
+            this.table = table;
+            this.column = column;
+            this.source = source;
+        }
+
+        private String valueOf(Employee employee) {
+            return this == SKILL ? employee.getQualifications() : employee.getCompletedTrainings();
+        }
+    }
+
+    private static final String empty_marker = "Optional.empty";
+
+    private final DatabaseManager dbManager;
+
+    public EmployeeSkillDao(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    public List<Integer> findEmployeeIdsWithSkill(String skillId) {
+        return findEmployeeIds(Posting.SKILL, skillId);
+    }
+
+    public List<Integer> findEmployeeIdsWithTraining(String trainingId) {
+        return findEmployeeIds(Posting.TRAINING, trainingId);
+    }
+
+    public List<String> findSkillIdsOf(int employeeId) {
+        return findIdsOf(Posting.SKILL, employeeId);
+    }
+
+    public List<String> findTrainingIdsOf(int employeeId) {
+        return findIdsOf(Posting.TRAINING, employeeId);
+    }
+
+    /**
+     * Zerlegt den Inhalt einer der TEXT-Spalten in einzelne IDs.
+     * Verstanden werden JSON-Arrays wie ["qual-a","qual-b"], kommagetrennte Listen und Mischungen aus beidem.
+     * Leere Einträge, "[]" und "Optional.empty" ergeben keine ID, doppelte IDs werden nur einmal geliefert.
+     * @param text Inhalt der Spalte, darf null sein.
+     * @return Die IDs in der Reihenfolge ihres ersten Auftretens.
+     * @author Elias Glauert
+     */
+    public static List<String> parseIds(String text) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (text == null) return new ArrayList<>(ids);
+
+        for (String part : text.split(",")) {
+            String id = part.replace("[", "").replace("]", "").replace("\"", "").trim();
+            if (!id.isEmpty() && !id.equals(empty_marker)) {
+                ids.add(id);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Gegenstück zu {@link #parseIds}, schreibt die IDs im Format der generierten Mitarbeiter als JSON-Array.
+     * @author Elias Glauert
+     */
+    public static String formatIds(Collection<String> ids) {
+        StringBuilder sb = new StringBuilder("[");
+        for (String id : ids) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append('"').append(id).append('"');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Gibt an, ob sich eine der Spalten geändert hat, aus denen die Zuordnungstabellen abgeleitet werden.
+     */
+    static boolean affects(Set<EmployeeField> changedFields) {
+        for (Posting posting : Posting.values()) {
+            if (changedFields.contains(posting.source)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Schreibt die Zuordnungen der Mitarbeiter für alle geänderten Spalten neu.
+     * Läuft auf der übergebenen Verbindung, damit es in derselben Transaktion wie das Schreiben der Mitarbeiter liegt.
+     * @param conn Die Verbindung des aufrufenden DAOs.
+     * @param employees Mitarbeiter mit gültiger ID.
+     * @param changedFields Geänderte Felder, nur Tabellen zu diesen Spalten werden angefasst.
+     * @author Elias Glauert
+     */
+    static void sync(Connection conn, Collection<Employee> employees, Set<EmployeeField> changedFields) throws SQLException {
+        for (Posting posting : Posting.values()) {
+            if (!changedFields.contains(posting.source)) continue;
+
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM " + posting.table + " WHERE employee_id = ?");
+                 PreparedStatement insert = conn.prepareStatement(insertSql(posting))) {
+                for (Employee employee : employees) {
+                    delete.setInt(1, employee.getId());
+                    delete.addBatch();
+                    for (String id : parseIds(posting.valueOf(employee))) {
+                        insert.setInt(1, employee.getId());
+                        insert.setString(2, id);
+                        insert.addBatch();
+                    }
+                }
+                delete.executeBatch();
+                insert.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Füllt die Zuordnungstabellen einmalig aus den TEXT-Spalten aller vorhandenen Mitarbeiter.
+     * Wird als Migration ausgeführt, die Verbindung steht daher schon in einer Transaktion.
+     * @param conn Verbindung der Migration.
+     * @author Elias Glauert
+     */
+    public static void backfill(Connection conn) throws SQLException {
+        long skills = 0;
+        long trainings = 0;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, qualifications, completed_trainings FROM Employees");
+             PreparedStatement insertSkill = conn.prepareStatement(insertSql(Posting.SKILL));
+             PreparedStatement insertTraining = conn.prepareStatement(insertSql(Posting.TRAINING))) {
+            while (rs.next()) {
+                int employeeId = rs.getInt(1);
+                skills += addRows(insertSkill, employeeId, rs.getString(2));
+                trainings += addRows(insertTraining, employeeId, rs.getString(3));
+            }
+            insertSkill.executeBatch();
+            insertTraining.executeBatch();
+        }
+        System.out.println("backfill() - " + skills + " Qualifikationen und " + trainings + " Schulungen übernommen.");
+    }
+
+    private static int addRows(PreparedStatement insert, int employeeId, String text) throws SQLException {
+        List<String> ids = parseIds(text);
+        for (String id : ids) {
+            insert.setInt(1, employeeId);
+            insert.setString(2, id);
+            insert.addBatch();
+        }
+        return ids.size();
+    }
+
+    private static String insertSql(Posting posting) {
+        return "INSERT INTO " + posting.table + " (employee_id, " + posting.column + ") VALUES (?, ?)";
+    }
+
+    private List<Integer> findEmployeeIds(Posting posting, String id) {
+        List<Integer> employeeIds = new ArrayList<>();
+        String query = "SELECT employee_id FROM " + posting.table + " WHERE " + posting.column + " = ? ORDER BY employee_id";
+
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    employeeIds.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Suchen der Mitarbeiter mit '" + id + "' in " + posting.table + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+        return employeeIds;
+    }
+
+    private List<String> findIdsOf(Posting posting, int employeeId) {
+        List<String> ids = new ArrayList<>();
+        String query = "SELECT " + posting.column + " FROM " + posting.table + " WHERE employee_id = ? ORDER BY " + posting.column;
+
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setInt(1, employeeId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Laden von " + posting.table + " für Mitarbeiter " + employeeId + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+        return ids;
+    }
+}
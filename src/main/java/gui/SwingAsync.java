@@ -0,0 +1,35 @@
+package gui;
+
+import javax.swing.*;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Hilfsmethoden, um die Ergebnisse asynchroner Datenbankzugriffe zurück auf den Event Dispatch Thread zu bringen.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public final class SwingAsync {
+
+    private SwingAsync() {}
+
+    /**
+     * Verpackt einen Callback für CompletableFuture.whenComplete so, dass er auf dem EDT läuft.
+     * Eine CompletionException wird dabei ausgepackt, der Callback bekommt direkt die eigentliche Ursache.
+     * @param callback Bekommt das Ergebnis oder den Fehler, genau eines davon ist gesetzt.
+     * @return Der Callback für whenComplete.
+     * @author Elias Glauert
+     */
+    public static <T> BiConsumer<T, Throwable> onEdt(BiConsumer<T, Throwable> callback) {
+        return (result, error) -> SwingUtilities.invokeLater(() -> callback.accept(result, unwrap(error)));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
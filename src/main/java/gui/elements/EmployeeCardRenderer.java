@@ -0,0 +1,69 @@
+package gui.elements;
+
+import model.db.EmployeeSummary;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Zeichnet einen Mitarbeiter als Karte in einer JList.
+ * Es gibt nur eine Instanz der Karte, die für jede sichtbare Zeile mit den Daten des Mitarbeiters befüllt
+ * und anschließend gezeichnet wird.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public class EmployeeCardRenderer extends JPanel implements ListCellRenderer<EmployeeSummary> {
+
+    public static final int cardWidth = 600;
+    public static final int cardHeight = 50;
+    public static final int cardGap = 5;
+
+    private static final Color cardBackground = new Color(255, 255, 255, 180);
+    private static final Color cardSelectedBackground = new Color(220, 230, 245, 220);
+
+    private final JPanel card;
+    private final JLabel label;
+
+    /**
+     * Konstruktor für den EmployeeCardRenderer.
+     * @author Elias Glauert
+     */
+    public EmployeeCardRenderer() {
+        super(new GridBagLayout());
+        setOpaque(false);
+        setBorder(BorderFactory.createEmptyBorder(0, 0, cardGap, 0));
+
+        card = new JPanel(new BorderLayout());
+        card.setBackground(cardBackground);
+        card.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1, true),
+                BorderFactory.createEmptyBorder(10, 10, 10, 10)
+        ));
+        Dimension cardSize = new Dimension(cardWidth, cardHeight);
+        card.setPreferredSize(cardSize);
+        card.setMinimumSize(cardSize);
+
+        label = new JLabel();
+        label.setForeground(Color.BLACK);
+        card.add(label, BorderLayout.CENTER);
+
+        add(card);
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends EmployeeSummary> list, EmployeeSummary employee, int index, boolean isSelected, boolean cellHasFocus) {
+        label.setText(employee.firstName() + " " + employee.lastName() + " (" + employee.email() + ")");
+        card.setBackground(isSelected ? cardSelectedBackground : cardBackground);
+        return this;
+    }
+
+    /**
+     * Die Höhe einer Zeile inklusive Abstand, passend für JList.setFixedCellHeight.
+     * @author Elias Glauert
+     */
+    public static int getRowHeight() {
+        return cardHeight + cardGap;
+    }
+}
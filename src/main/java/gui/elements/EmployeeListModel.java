@@ -0,0 +1,64 @@
+package gui.elements;
+
+import model.db.EmployeeSummary;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listenmodell für Mitarbeiter-Ergebnislisten. Es hält nur Zusammenfassungen, keine vollständigen Mitarbeiter.
+ * Die JList fragt nur die Einträge ab, die gerade sichtbar sind, sodass auch sehr große Ergebnismengen
+ * ohne eine Swing-Komponente pro Mitarbeiter angezeigt werden können.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public class EmployeeListModel extends AbstractListModel<EmployeeSummary> {
+
+    private final ArrayList<EmployeeSummary> employees = new ArrayList<>();
+
+    @Override
+    public int getSize() {
+        return employees.size();
+    }
+
+    @Override
+    public EmployeeSummary getElementAt(int index) {
+        return employees.get(index);
+    }
+
+    /**
+     * Ersetzt den gesamten Inhalt des Modells.
+     * @param newEmployees Die neuen Einträge.
+     * @author Elias Glauert
+     */
+    public void setEmployees(List<EmployeeSummary> newEmployees) {
+        int oldSize = employees.size();
+        employees.clear();
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        employees.addAll(newEmployees);
+        if (!employees.isEmpty()) {
+            fireIntervalAdded(this, 0, employees.size() - 1);
+        }
+    }
+
+    /**
+     * Hängt weitere Einträge an das Ende des Modells an.
+     * @param moreEmployees Die anzuhängenden Einträge.
+     * @author Elias Glauert
+     */
+    public void addEmployees(List<EmployeeSummary> moreEmployees) {
+        if (moreEmployees.isEmpty()) return;
+        int first = employees.size();
+        employees.addAll(moreEmployees);
+        fireIntervalAdded(this, first, employees.size() - 1);
+    }
+
+    public void clear() {
+        setEmployees(List.of());
+    }
+}
@@ -2,6 +2,8 @@ package gui.views;
 
 import core.EmployeeManager;
 import core.EventManager;
+import gui.SwingAsync;
+import model.db.Employee;
 import model.json.Department;
 import model.json.Role;
 import model.json.Team;
@@ -444,16 +446,26 @@ public class AddEmployeeView extends View {
                 return;
             }
 
-            employeeManager.addEmployee(
+            Employee newEmployee = new Employee(
                     username, password, "default", firstName, lastName, email, phoneNumber,
                     dateOfBirth, address, gender, hireDate, employmentStatus, departmentId,
                     teamId, roleId, qualifications, completedTrainings, managerId,
                     itAdmin, hr, hrHead, isManager
             );
 
-            JOptionPane.showMessageDialog(this, "Mitarbeiter erfolgreich hinzugefuegt!", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
-            clearForm();
-            eventManager.callEvent("moveBackView", null);
+            JButton saveButton = (JButton) e.getSource();
+            saveButton.setEnabled(false);
+            employeeManager.addEmployeeAsync(newEmployee).whenComplete(SwingAsync.onEdt((_, error) -> {
+                saveButton.setEnabled(true);
+                if (error != null) {
+                    JOptionPane.showMessageDialog(this, "Fehler beim Hinzufuegen des Mitarbeiters: " + error.getMessage(), "Fehler", JOptionPane.ERROR_MESSAGE);
+                    error.printStackTrace();
+                    return;
+                }
+                JOptionPane.showMessageDialog(this, "Mitarbeiter erfolgreich hinzugefuegt!", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
+                clearForm();
+                eventManager.callEvent("moveBackView", null);
+            }));
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this, "Fehler beim Hinzufuegen des Mitarbeiters: " + ex.getMessage(), "Fehler", JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
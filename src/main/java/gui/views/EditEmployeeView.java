@@ -3,6 +3,8 @@ package gui.views;
 import core.CompanyStructureManager;
 import core.EmployeeManager;
 import core.EventManager;
+import core.OrgReferenceRegistry;
+import gui.SwingAsync;
 import model.db.Employee;
 import model.json.Department;
 import model.json.Role;
@@ -30,7 +32,7 @@ import java.util.LinkedHashSet;
  * durchzuführen.
  *
  * @author joshuasperber
- * @version 1.0
+ * @version 1.1 (Namen über die geteilten Strukturobjekte des Mitarbeiters)
  * @since 2025-07-27
  */
 
@@ -277,13 +279,13 @@ public class EditEmployeeView extends View {
             case "departmentId":
                 // Dropdown für die Abteilung, befüllt aus dem Cache
                 JComboBox<String> departmentComboBox = new JComboBox<>(departmentNameToIdCache.keySet().toArray(new String[0]));
-                departmentComboBox.setSelectedItem(departmentIdToNameCache.getOrDefault(employeeToEdit.getDepartmentId(), employeeToEdit.getDepartmentId()));
+                departmentComboBox.setSelectedItem(departmentName(employeeToEdit));
                 editFields.put(field, departmentComboBox);
                 return departmentComboBox;
             case "roleId":
                 // Dropdown für die Rolle, befüllt aus dem Cache
                 JComboBox<String> roleComboBox = new JComboBox<>(roleNameToIdCache.keySet().toArray(new String[0]));
-                roleComboBox.setSelectedItem(roleIdToNameCache.getOrDefault(employeeToEdit.getRoleId(), employeeToEdit.getRoleId()));
+                roleComboBox.setSelectedItem(roleName(employeeToEdit));
                 editFields.put(field, roleComboBox);
                 return roleComboBox;
             case "teamId":
@@ -344,20 +346,26 @@ public class EditEmployeeView extends View {
 
     /**
      * Schaltet zwischen dem Anzeige- und dem Bearbeitungsmodus um.
-     * Beim Umschalten in den Anzeigemodus werden die Änderungen gespeichert.
+     * Beim Umschalten in den Anzeigemodus werden die Änderungen gespeichert, erst danach wird umgeschaltet.
      * @param e Das `ActionEvent`, ausgelöst durch den Klick auf den Button.
      * @author joshuasperber
      */
     private void toggleEditMode(ActionEvent e) {
+        JButton button = (JButton) e.getSource();
         // Wenn bereits im Bearbeitungsmodus, versuche die Änderungen zu speichern
         if (editMode) {
-            if (!saveChanges()) {
-                return;
-            }
+            saveChanges(button);
+            return;
         }
-        // Umschalten des Modus und Aktualisieren des Button-Textes
+        switchEditMode(button);
+    }
+
+    /**
+     * Umschalten des Modus und Aktualisieren des Button-Textes.
+     * @author joshuasperber
+     */
+    private void switchEditMode(JButton button) {
         editMode = !editMode;
-        JButton button = (JButton) e.getSource();
         button.setText(editMode ? "Speichern" : "Bearbeiten");
         // Aktualisiere die Anzeige der Felder
         refreshDataDisplay();
@@ -365,24 +373,34 @@ public class EditEmployeeView extends View {
 
     /**
      * Speichert die Änderungen, die im Bearbeitungsmodus vorgenommen wurden,
-     * indem die `updateEmployee`-Methode des `EmployeeManager` aufgerufen wird.
+     * indem die `updateEmployeeAsync`-Methode des `EmployeeManager` aufgerufen wird.
+     * Der Button bleibt gesperrt, bis die Datenbank geantwortet hat. Nur bei Erfolg wird in den Anzeigemodus gewechselt.
      *
-     * @return `true`, wenn die Änderungen erfolgreich gespeichert wurden, sonst `false`.
+     * @param button Der Speichern-Button.
      * @author joshuasperber
      */
-    private boolean saveChanges() {
+    private void saveChanges(JButton button) {
         try {
             // Übertrage die Werte aus den Eingabefeldern in das Mitarbeiterobjekt
             updateEmployeeFromFields();
-            // Rufe den Manager auf, um die Daten zu aktualisieren
-            employeeManager.updateEmployee(employeeToEdit);
-            JOptionPane.showMessageDialog(this, "Änderungen erfolgreich gespeichert", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
-            return true;
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this, "Fehler beim Speichern: " + ex.getMessage(), "Fehler", JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
-            return false;
+            return;
         }
+
+        button.setEnabled(false);
+        // Rufe den Manager auf, um die Daten zu aktualisieren
+        employeeManager.updateEmployeeAsync(employeeToEdit).whenComplete(SwingAsync.onEdt((_, error) -> {
+            button.setEnabled(true);
+            if (error != null) {
+                JOptionPane.showMessageDialog(this, "Fehler beim Speichern: " + error.getMessage(), "Fehler", JOptionPane.ERROR_MESSAGE);
+                error.printStackTrace();
+                return;
+            }
+            JOptionPane.showMessageDialog(this, "Änderungen erfolgreich gespeichert", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
+            switchEditMode(button);
+        }));
     }
 
     /**
@@ -507,6 +525,25 @@ public class EditEmployeeView extends View {
         return labels.getOrDefault(field, field + ":");
     }
 
+    /**
+     * Name der Abteilung über das am Mitarbeiter hängende Department-Objekt.
+     * Nur für IDs, die die Unternehmensstruktur nicht kennt, wird auf die Caches der View zurückgegriffen.
+     */
+    private String departmentName(Employee employee) {
+        Department department = OrgReferenceRegistry.departmentOf(employee);
+        return department != null ? department.getName() : departmentIdToNameCache.getOrDefault(employee.getDepartmentId(), employee.getDepartmentId());
+    }
+
+    private String roleName(Employee employee) {
+        Role role = OrgReferenceRegistry.roleOf(employee);
+        return role != null ? role.getName() : roleIdToNameCache.getOrDefault(employee.getRoleId(), employee.getRoleId());
+    }
+
+    private String teamName(Employee employee) {
+        Team team = OrgReferenceRegistry.teamOf(employee);
+        return team != null ? team.getName() : teamIdToNameCache.getOrDefault(employee.getTeamId(), "Kein Team");
+    }
+
     /**
      * Gibt den Wert eines Feldes aus dem `employeeToEdit`-Objekt als `String` zurück.
      *
@@ -531,11 +568,11 @@ public class EditEmployeeView extends View {
             case "gender":
                 return String.valueOf(employeeToEdit.getGender());
             case "departmentId":
-                return departmentIdToNameCache.getOrDefault(employeeToEdit.getDepartmentId(), employeeToEdit.getDepartmentId());
+                return departmentName(employeeToEdit);
             case "roleId":
-                return roleIdToNameCache.getOrDefault(employeeToEdit.getRoleId(), employeeToEdit.getRoleId());
+                return roleName(employeeToEdit);
             case "teamId":
-                return teamIdToNameCache.getOrDefault(employeeToEdit.getTeamId(), "Kein Team");
+                return teamName(employeeToEdit);
             case "username":
                 return employeeToEdit.getUsername();
             case "hireDate":
@@ -574,16 +611,20 @@ public class EditEmployeeView extends View {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            try {
-                // Lösche den Mitarbeiter über den EmployeeManager
-                employeeManager.removeEmployee(employeeToEdit.getId());
+            JButton button = (JButton) e.getSource();
+            button.setEnabled(false);
+            // Lösche den Mitarbeiter über den EmployeeManager
+            employeeManager.removeEmployeeAsync(employeeToEdit.getId()).whenComplete(SwingAsync.onEdt((_, error) -> {
+                button.setEnabled(true);
+                if (error != null) {
+                    JOptionPane.showMessageDialog(this, "Fehler beim Löschen: " + error.getMessage(), "Fehler", JOptionPane.ERROR_MESSAGE);
+                    error.printStackTrace();
+                    return;
+                }
                 JOptionPane.showMessageDialog(this, "Mitarbeiter wurde gelöscht.", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
                 // Navigiere zur vorherigen Ansicht zurück
                 eventManager.callEvent("moveBackView", null);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Fehler beim Löschen: " + ex.getMessage(), "Fehler", JOptionPane.ERROR_MESSAGE);
-                ex.printStackTrace();
-            }
+            }));
         }
     }
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import model.json.Team;
 import core.CompanyStructureManager;
 import core.EmployeeManager;
 import core.EventManager;
+import core.OrgReferenceRegistry;
+import gui.SwingAsync;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -29,7 +31,7 @@ import java.text.ParseException;
  * über den `CompanyStructureManager` zu laden.
  *
  * @author joshuasperber
- * @version 1.3
+ * @version 1.4 (Namen über die geteilten Strukturobjekte des Mitarbeiters)
  * @since 2025-07-28
  */
 
@@ -341,13 +343,13 @@ public class EmployeeDataView extends View {
             case "departmentId":
                 // Dropdown für Abteilung, befüllt aus dem Cache
                 JComboBox<String> departmentComboBox = new JComboBox<>(departmentNameToIdCache.keySet().toArray(new String[0]));
-                departmentComboBox.setSelectedItem(departmentIdToNameCache.getOrDefault(employee.getDepartmentId(), employee.getDepartmentId()));
+                departmentComboBox.setSelectedItem(departmentName(employee));
                 editFields.put(field, departmentComboBox);
                 return departmentComboBox;
             case "roleId":
                 // Dropdown für Rolle, befüllt aus dem Cache
                 JComboBox<String> roleComboBox = new JComboBox<>(roleNameToIdCache.keySet().toArray(new String[0]));
-                roleComboBox.setSelectedItem(roleIdToNameCache.getOrDefault(employee.getRoleId(), employee.getRoleId()));
+                roleComboBox.setSelectedItem(roleName(employee));
                 editFields.put(field, roleComboBox);
                 return roleComboBox;
             case "teamId":
@@ -355,7 +357,7 @@ public class EmployeeDataView extends View {
                 String[] teamNames = teamNameToIdCache.keySet().toArray(new String[0]);
                 Arrays.sort(teamNames);
                 JComboBox<String> teamComboBox = new JComboBox<>(teamNames);
-                teamComboBox.setSelectedItem(teamIdToNameCache.getOrDefault(employee.getTeamId(), ""));
+                teamComboBox.setSelectedItem(teamName(employee));
                 editFields.put(field, teamComboBox);
                 return teamComboBox;
             default:
@@ -381,50 +383,68 @@ public class EmployeeDataView extends View {
 
     /**
      * Schaltet den Bearbeitungsmodus der View um. Beim Wechsel von Bearbeiten zu
-     * Anzeigen werden die Änderungen gespeichert.
+     * Anzeigen werden die Änderungen gespeichert, erst danach wird umgeschaltet.
      * @param e Das ActionEvent, das den Button-Klick repräsentiert.
      * @author joshuasperber
      */
     private void toggleEditMode(ActionEvent e) {
+        JButton button = (JButton) e.getSource();
         // Speichere Änderungen, wenn der Bearbeitungsmodus beendet wird
         if (editMode) {
-            if (!saveChanges()) {
-                return;
-            }
+            saveChanges(button);
+            return;
         }
-        // Wechsle den Modus und aktualisiere den Button-Text
+        switchEditMode(button);
+    }
+
+    /**
+     * Wechselt den Modus und aktualisiert den Button-Text.
+     * @author joshuasperber
+     */
+    private void switchEditMode(JButton button) {
         editMode = !editMode;
-        JButton button = (JButton) e.getSource();
         button.setText(editMode ? "Speichern" : "Bearbeiten");
         // Lade die Anzeige neu, um die Felder zu aktualisieren
         refreshDataDisplay();
     }
 
     /**
-     * Speichert die vorgenommenen Änderungen an den Mitarbeiterdaten.
-     * @return true, wenn das Speichern erfolgreich war, andernfalls false.
+     * Speichert die vorgenommenen Änderungen an den Mitarbeiterdaten, ohne die GUI zu blockieren.
+     * Der Button bleibt gesperrt, bis die Datenbank geantwortet hat. Nur bei Erfolg wird in den Anzeigemodus gewechselt.
+     * @param button Der Speichern-Button.
      * @author joshuasperber
      */
-    private boolean saveChanges() {
+    private void saveChanges(JButton button) {
         try {
             // Aktualisiere das Employee-Objekt mit den Werten aus den Feldern
             updateEmployeeFromFields();
-            // Rufe den EmployeeManager auf, um die Daten in der Datenbank zu aktualisieren
-            employeeManager.updateEmployee(employee);
-
-            JOptionPane.showMessageDialog(this,
-                    "Änderungen erfolgreich gespeichert",
-                    "Erfolg",
-                    JOptionPane.INFORMATION_MESSAGE);
-            return true;
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this,
                     "Fehler beim Speichern: " + ex.getMessage(),
                     "Fehler",
                     JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
-            return false;
+            return;
         }
+
+        button.setEnabled(false);
+        // Rufe den EmployeeManager auf, um die Daten in der Datenbank zu aktualisieren
+        employeeManager.updateEmployeeAsync(employee).whenComplete(SwingAsync.onEdt((_, error) -> {
+            button.setEnabled(true);
+            if (error != null) {
+                JOptionPane.showMessageDialog(this,
+                        "Fehler beim Speichern: " + error.getMessage(),
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                error.printStackTrace();
+                return;
+            }
+            JOptionPane.showMessageDialog(this,
+                    "Änderungen erfolgreich gespeichert",
+                    "Erfolg",
+                    JOptionPane.INFORMATION_MESSAGE);
+            switchEditMode(button);
+        }));
     }
 
     /**
@@ -552,6 +572,25 @@ public class EmployeeDataView extends View {
         return labels.getOrDefault(field, field + ":");
     }
 
+    /**
+     * Name der Abteilung über das am Mitarbeiter hängende Department-Objekt.
+     * Nur für IDs, die die Unternehmensstruktur nicht kennt, wird auf die Caches der View zurückgegriffen.
+     */
+    private String departmentName(Employee employee) {
+        Department department = OrgReferenceRegistry.departmentOf(employee);
+        return department != null ? department.getName() : departmentIdToNameCache.getOrDefault(employee.getDepartmentId(), employee.getDepartmentId());
+    }
+
+    private String roleName(Employee employee) {
+        Role role = OrgReferenceRegistry.roleOf(employee);
+        return role != null ? role.getName() : roleIdToNameCache.getOrDefault(employee.getRoleId(), employee.getRoleId());
+    }
+
+    private String teamName(Employee employee) {
+        Team team = OrgReferenceRegistry.teamOf(employee);
+        return team != null ? team.getName() : teamIdToNameCache.getOrDefault(employee.getTeamId(), "");
+    }
+
     /**
      * Gibt den Wert eines spezifischen Feldes aus dem `employee`-Objekt zurück.
      * @param field Der interne Feldname.
@@ -567,9 +606,9 @@ public class EmployeeDataView extends View {
             case "dateOfBirth": return employee.getDateOfBirth() != null ? dateFormat.format(employee.getDateOfBirth()) : "";
             case "address": return employee.getAddress();
             case "gender": return String.valueOf(employee.getGender());
-            case "departmentId": return departmentIdToNameCache.getOrDefault(employee.getDepartmentId(), employee.getDepartmentId());
-            case "roleId": return roleIdToNameCache.getOrDefault(employee.getRoleId(), employee.getRoleId());
-            case "teamId": return teamIdToNameCache.getOrDefault(employee.getTeamId(), "");
+            case "departmentId": return departmentName(employee);
+            case "roleId": return roleName(employee);
+            case "teamId": return teamName(employee);
             case "username": return employee.getUsername();
             case "hireDate": return employee.getHireDate() != null ? dateFormat.format(employee.getHireDate()) : "";
             default: return "";
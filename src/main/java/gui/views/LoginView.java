@@ -2,6 +2,7 @@ package gui.views;
 
 import core.EventManager;
 import core.LoginManager;
+import gui.SwingAsync;
 import util.PersistentInformationReader;
 
 import javax.swing.*;
@@ -124,31 +125,22 @@ public class LoginView extends View {
 
         // ActionListener für Login-Versuch
         ActionListener loginAction = _ -> {
+            // Solange ein Anmeldeversuch läuft, wird kein weiterer gestartet
+            if (!loginButton.isEnabled()) return;
+
             String username = usernameField.getText().trim();
             String password = new String(passwordField.getPassword());
 
-            int loginStatus = loginManager.attemptLogin(username, password);
-
-            switch (loginStatus) {
-                case LoginManager.LOGIN_SUCCESS -> {
-                    showFeedback("Anmeldung erfolgreich.", new Color(0, 128, 0));
-
-                    // Leichte Verzögerung um User Feedback zu maximieren
-                    new Timer(1000, _ -> loginManager.proceedToSoftware()) {{
-                        setRepeats(false);
-                    }}.start();
-                }
-                case LoginManager.USERNAME_NOT_FOUND -> {
-                    String variation_1 = "Benutzername ist nicht korrekt.";
-                    String variation_2 = "Benutzername war erneut inkorrekt.";
-                    showFeedback((!feedbackLabel.getText().equals(variation_1)) ? variation_1 : variation_2, Color.RED);
+            loginButton.setEnabled(false);
+            loginManager.attemptLoginAsync(username, password).whenComplete(SwingAsync.onEdt((loginStatus, error) -> {
+                if (error != null) {
+                    loginButton.setEnabled(true);
+                    showFeedback("Anmeldung fehlgeschlagen: " + error.getMessage(), Color.RED);
+                    error.printStackTrace();
+                    return;
                 }
-                case LoginManager.PASSWORD_INCORRECT -> {
-                    String variation_1 = "Passwort ist falsch.";
-                    String variation_2 = "Passwort war erneut falsch.";
-                    showFeedback((!feedbackLabel.getText().equals(variation_1)) ? variation_1 : variation_2, Color.RED);
-                }
-            }
+                handleLoginStatus(loginStatus, loginButton);
+            }));
         };
 
         loginButton.addActionListener(loginAction);
@@ -177,6 +169,38 @@ public class LoginView extends View {
         this.loginManager = loginManager1;
     }
 
+    /**
+     * Zeigt das Ergebnis eines Anmeldeversuchs an. Bei Erfolg wird nach einer kurzen Verzögerung zur Software gewechselt.
+     * @param loginStatus Status aus dem LoginManager.
+     * @param loginButton Der Anmelde-Button, wird nach einem Fehlversuch wieder freigegeben.
+     * @author Elias Glauert
+     */
+    private void handleLoginStatus(int loginStatus, JButton loginButton) {
+        switch (loginStatus) {
+            case LoginManager.LOGIN_SUCCESS -> {
+                showFeedback("Anmeldung erfolgreich.", new Color(0, 128, 0));
+
+                // Leichte Verzögerung um User Feedback zu maximieren
+                new Timer(1000, _ -> loginManager.proceedToSoftware()) {{
+                    setRepeats(false);
+                }}.start();
+            }
+            case LoginManager.USERNAME_NOT_FOUND -> {
+                String variation_1 = "Benutzername ist nicht korrekt.";
+                String variation_2 = "Benutzername war erneut inkorrekt.";
+                showFeedback((!feedbackLabel.getText().equals(variation_1)) ? variation_1 : variation_2, Color.RED);
+            }
+            case LoginManager.PASSWORD_INCORRECT -> {
+                String variation_1 = "Passwort ist falsch.";
+                String variation_2 = "Passwort war erneut falsch.";
+                showFeedback((!feedbackLabel.getText().equals(variation_1)) ? variation_1 : variation_2, Color.RED);
+            }
+        }
+        if (loginStatus != LoginManager.LOGIN_SUCCESS) {
+            loginButton.setEnabled(true);
+        }
+    }
+
     /**
      * Zeigt eine Feedback-Nachricht im Label an.
      */
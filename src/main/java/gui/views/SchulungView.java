@@ -4,6 +4,7 @@ import model.db.Employee;
 import core.CompanyStructureManager;
 import core.EmployeeManager;
 import core.EventManager;
+import gui.SwingAsync;
 import model.json.Qualification;
 import javax.swing.*;
 import java.awt.*;
@@ -23,7 +24,7 @@ import java.util.stream.Collectors;
  * um Informationen über Schulungen und Qualifikationen abzurufen.
  *
  * @author Dorian Gläske, joshuasperber
- * @version 3.5 (Anzeige von RequiredSkills in absolvierten Schulungen)
+ * @version 3.6 (Qualifikationen aus der Tabelle employee_skill)
  * @since 2025-07-28
  */
 public class SchulungView extends View {
@@ -151,24 +152,21 @@ public class SchulungView extends View {
                     selectedQualId = selectedTrainingName;
                 }
 
-                List<String> currentQualifications = new ArrayList<>(Collections.singleton(loggedInUser.getQualifications()));
-
-                if (!currentQualifications.contains(selectedQualId)) {
-                    currentQualifications.add(selectedQualId);
-                    String updatedQualificationsString = String.join(",", currentQualifications);
-                    loggedInUser.setQualifications(updatedQualificationsString);
-
-                    try {
-                        employeeManager.updateEmployee(loggedInUser);
+                if (employeeManager.addQualification(loggedInUser, selectedQualId)) {
+                    markAsCompletedButton.setEnabled(false);
+                    employeeManager.updateEmployeeAsync(loggedInUser).whenComplete(SwingAsync.onEdt((_, error) -> {
+                        if (error != null) {
+                            JOptionPane.showMessageDialog(this, "Fehler beim Aktualisieren des Mitarbeiters: " + error.getMessage(), "Fehler", JOptionPane.ERROR_MESSAGE);
+                            error.printStackTrace();
+                            markAsCompletedButton.setEnabled(trainingsList.getSelectedIndex() != -1 && currentView == TrainingView.POTENTIAL);
+                            return;
+                        }
 
                         updateTrainingData();
                         showPotentialTrainings();
 
                         JOptionPane.showMessageDialog(this, "Qualifikation '" + selectedTrainingName + "' erfolgreich erworben.", "Erfolgreich", JOptionPane.INFORMATION_MESSAGE);
-
-                    } catch (Exception ex) {
-                        throw new RuntimeException("Fehler beim Aktualisieren des Mitarbeiters: " + ex.getMessage(), ex);
-                    }
+                    }));
                 } else {
                     JOptionPane.showMessageDialog(this, "Diese Qualifikation haben Sie bereits.", "Hinweis", JOptionPane.INFORMATION_MESSAGE);
                 }
@@ -179,8 +177,8 @@ public class SchulungView extends View {
     }
 
     private void updateTrainingData() {
-        // Korrigierte Zeile zur korrekten Aufteilung der Qualifikationen
-        this.completedTrainings = Collections.singletonList(loggedInUser.getQualifications());
+        // Qualifikationen kommen aus der Tabelle employee_skill, die Textspalte muss nicht mehr zerlegt werden
+        this.completedTrainings = employeeManager.getQualificationIds(loggedInUser);
         System.out.println("Geladene Qualifikationen des Nutzers: " + completedTrainings);
 
         this.potentialTrainings = new ArrayList<>();
@@ -206,18 +204,11 @@ public class SchulungView extends View {
     private void showCompletedTrainings() {
         currentView = TrainingView.COMPLETED;
         listModel.clear();
-        if (completedTrainings.isEmpty() || (completedTrainings.size() == 1 && completedTrainings.get(0).isEmpty())) {
+        if (completedTrainings.isEmpty()) {
             listModel.addElement("Keine abgeschlossenen Schulungen gefunden.");
         } else {
-            completedTrainings.forEach(qualIdString -> {
-                String[] ids = qualIdString.split(",");
-                for (String id : ids) {
-                    if (!id.trim().isEmpty()) {
-                        // Aufruf der neuen Methode zur Anzeige der RequiredSkills
-                        listModel.addElement(getQualificationDescriptionWithRequiredSkills(id.trim()));
-                    }
-                }
-            });
+            // Aufruf der neuen Methode zur Anzeige der RequiredSkills
+            completedTrainings.forEach(id -> listModel.addElement(getQualificationDescriptionWithRequiredSkills(id)));
         }
 
         completedTrainingsButton.setEnabled(false);
@@ -1,11 +1,13 @@
 package gui.views;
 
 import model.db.Employee;
-import util.EmployeeFieldAccessEvaluator;
+import model.db.EmployeeSummary;
 import core.EmployeeManager;
 import core.EventManager;
 import model.json.Department;
 import core.CompanyStructureManager;
+import gui.elements.EmployeeCardRenderer;
+import gui.elements.EmployeeListModel;
 
 import javax.swing.*;
 import java.awt.*;
@@ -17,7 +19,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.awt.AlphaComposite;
@@ -26,7 +33,10 @@ import java.util.Map;
 /**
  * Die `SearchView` ist eine grafische Benutzeroberfläche zur Suche nach Mitarbeitern.
  * Sie ermöglicht es Benutzern, Mitarbeiter nach Namen, E-Mail-Adresse oder Abteilung
- * zu filtern. Die Ergebnisse werden in einer Liste von anklickbaren Karten angezeigt.
+ * zu filtern. Die Ergebnisse werden in einer Liste von anklickbaren Karten angezeigt, von denen nur die
+ * sichtbaren Zeilen gezeichnet werden.
+ * Die Suche startet bereits während der Eingabe (entprellt) und läuft auf einem virtuellen Thread, sodass die
+ * Oberfläche nicht blockiert. Eine neuere Eingabe bricht eine noch laufende Suche ab.
  * Abhängig vom "Modus" (z.B. "view" oder "edit_mode") leitet die Ansicht bei einem
  * Klick auf die entsprechende Mitarbeiter-Detailansicht weiter.
  *
@@ -38,7 +48,10 @@ public class SearchView extends View {
 
     private JTextField searchField;
     private JComboBox<String> departmentDropdown;
-    private JPanel resultsPanel;
+    private JList<EmployeeSummary> resultsList;
+    private EmployeeListModel resultsModel;
+    private JScrollPane scrollPane;
+    private JLabel noResultsLabel;
 
     private Employee currentUser;
     private EmployeeManager employeeManager;
@@ -46,6 +59,23 @@ public class SearchView extends View {
 
     private String mode; // Steuert, welche View beim Klick geöffnet wird
     private Map<String, String> departmentIdToNameCache = new HashMap<>();
+    private Map<String, String> departmentNameToIdCache = new HashMap<>();
+
+    private static final String searchPlaceholder = "Suche nach Namen, Email ...";
+    private static final int searchDebounceMillis = 250;
+    private static final int resultChunkSize = 200;
+
+    /**
+     * Gemeinsamer Executor aller SearchViews, jede Suche bekommt einen eigenen virtuellen Thread.
+     */
+    private static final ExecutorService searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Timer debounceTimer;
+    private Future<?> runningSearch;
+    /**
+     * Nummer der aktuellsten Suche. Ergebnisse älterer Suchen werden verworfen.
+     */
+    private final AtomicLong searchGeneration = new AtomicLong();
 
     /**
      * Standard-Konstruktor. Wird in der Regel nicht direkt verwendet.
@@ -111,7 +141,7 @@ public class SearchView extends View {
         searchPanel.setOpaque(false);
 
         // Suchfeld für Namen und E-Mail
-        searchField = new JTextField("Suche nach Namen, Email ...");
+        searchField = new JTextField(searchPlaceholder);
         searchField.setForeground(Color.GRAY);
         searchField.setMaximumSize(new Dimension(450, 40));
         searchField.setFont(new Font("SansSerif", Font.PLAIN, 14));
@@ -119,7 +149,7 @@ public class SearchView extends View {
         // Fügt Focus-Listener hinzu, um den Platzhaltertext zu verwalten
         searchField.addFocusListener(new FocusAdapter() {
             public void focusGained(FocusEvent e) {
-                if (searchField.getText().equals("Suche nach Namen, Email ...")) {
+                if (searchField.getText().equals(searchPlaceholder)) {
                     searchField.setText("");
                     searchField.setForeground(Color.BLACK);
                 }
@@ -127,12 +157,29 @@ public class SearchView extends View {
 
             public void focusLost(FocusEvent e) {
                 if (searchField.getText().trim().isEmpty()) {
-                    searchField.setText("Suche nach Namen, Email ...");
+                    searchField.setText(searchPlaceholder);
                     searchField.setForeground(Color.GRAY);
                 }
             }
         });
 
+        // Jede Eingabe startet den Timer neu, gesucht wird erst nach einer kurzen Tipp-Pause
+        debounceTimer = new Timer(searchDebounceMillis, e -> performSearch());
+        debounceTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                scheduleSearch();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                scheduleSearch();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                scheduleSearch();
+            }
+        });
+
         searchPanel.add(searchField);
         searchPanel.add(Box.createHorizontalStrut(10));
 
@@ -149,6 +196,7 @@ public class SearchView extends View {
                     Department dep = (Department) obj;
                     departmentDropdown.addItem(dep.getName());
                     departmentIdToNameCache.put(dep.getDepartmentId(), dep.getName());
+                    departmentNameToIdCache.put(dep.getName(), dep.getDepartmentId());
                 } else if (obj instanceof Map) {
                     Map<String, Object> depMap = (Map<String, Object>) obj;
                     String id = (String) depMap.get("departmentId");
@@ -156,6 +204,7 @@ public class SearchView extends View {
                     if (id != null && name != null) {
                         departmentDropdown.addItem(name);
                         departmentIdToNameCache.put(id, name);
+                        departmentNameToIdCache.put(name, id);
                     }
                 }
             }
@@ -167,6 +216,7 @@ public class SearchView extends View {
                     JOptionPane.WARNING_MESSAGE);
         }
 
+        departmentDropdown.addActionListener(e -> performSearch());
         searchPanel.add(departmentDropdown);
         searchPanel.add(Box.createHorizontalStrut(10));
 
@@ -179,13 +229,31 @@ public class SearchView extends View {
         searchPanel.add(Box.createHorizontalStrut(10));
         searchPanel.add(searchButton);
 
-        // Panel für die Suchergebnisse
-        this.resultsPanel = new JPanel();
-        this.resultsPanel.setLayout(new BoxLayout(this.resultsPanel, BoxLayout.Y_AXIS));
-        this.resultsPanel.setOpaque(false);
+        // Liste für die Suchergebnisse, alle Zeilen teilen sich einen Renderer
+        this.resultsModel = new EmployeeListModel();
+        this.resultsList = new JList<>(this.resultsModel);
+        this.resultsList.setCellRenderer(new EmployeeCardRenderer());
+        this.resultsList.setFixedCellHeight(EmployeeCardRenderer.getRowHeight());
+        // Mit fester Breite muss die Liste nicht jede Zeile rendern, um ihre Größe zu bestimmen
+        this.resultsList.setFixedCellWidth(EmployeeCardRenderer.cardWidth);
+        this.resultsList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        this.resultsList.setOpaque(false);
+        this.resultsList.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        // Ein MouseListener für die gesamte Liste ermittelt die angeklickte Zeile
+        this.resultsList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = resultsList.locationToIndex(e.getPoint());
+                if (index < 0 || !resultsList.getCellBounds(index, index).contains(e.getPoint())) return;
+                openEmployee(resultsModel.getElementAt(index));
+            }
+        });
+
+        this.noResultsLabel = new JLabel("Keine Ergebnisse gefunden.", SwingConstants.CENTER);
+        this.noResultsLabel.setVerticalAlignment(SwingConstants.TOP);
 
         // ScrollPane, falls die Ergebnisse nicht auf eine Seite passen
-        JScrollPane scrollPane = new JScrollPane(this.resultsPanel);
+        this.scrollPane = new JScrollPane(this.resultsList);
         scrollPane.setOpaque(false);
         scrollPane.getViewport().setOpaque(false);
         scrollPane.setBorder(null);
@@ -215,11 +283,21 @@ public class SearchView extends View {
         this.eventManager = eventManager;
     }
 
+    /**
+     * Startet die Suche nach einer kurzen Pause neu. Der Platzhaltertext löst keine Suche aus.
+     */
+    private void scheduleSearch() {
+        if (searchField.getText().equals(searchPlaceholder)) return;
+        debounceTimer.restart();
+    }
+
     /**
      * Führt die Suche basierend auf den Eingabefeldern und der Dropdown-Auswahl durch.
-     * Die Methode filtert die Mitarbeiterliste und aktualisiert das Ergebnispanel.
+     * Eine noch laufende Suche wird abgebrochen, die neue läuft im Hintergrund und füllt die Ergebnisliste
+     * blockweise, sobald Treffer vorliegen.
      */
     private void performSearch() {
+        debounceTimer.stop();
         if (employeeManager == null) {
             System.err.println("Fehler: EmployeeManager ist in SearchView nicht gesetzt!");
             JOptionPane.showMessageDialog(this,
@@ -229,116 +307,145 @@ public class SearchView extends View {
             return;
         }
 
-        // Ruft alle Mitarbeiter ab
-        List<Employee> currentAllEmployees = employeeManager.findAll();
-        System.out.println("SearchView: employeeManager.findAll() hat " + currentAllEmployees.size() + " Mitarbeiter zurückgegeben.");
-
         String keyword = searchField.getText().trim().toLowerCase();
         String department = (String) departmentDropdown.getSelectedItem();
 
         System.out.println("SearchView: Suchbegriff (Keyword): '" + keyword + "'");
         System.out.println("SearchView: Ausgewählte Abteilung: '" + department + "'");
 
-        // Stream-basierte Filterung der Mitarbeiterliste
-        List<Employee> filtered = currentAllEmployees.stream()
-                // Filtert Mitarbeiter, auf die der aktuelle Benutzer zugreifen darf
-                .filter(emp -> EmployeeFieldAccessEvaluator.canViewBasicData(currentUser, emp))
-                // Filtert nach dem Suchbegriff (Name oder E-Mail)
-                .filter(emp -> {
-                    boolean keywordMatch = true;
-                    if (!keyword.isEmpty() && !keyword.equals("suche nach namen, email ...")) {
-                        String fullName = (emp.getFirstName() + " " + emp.getLastName()).toLowerCase();
-                        String email = emp.getEmail().toLowerCase();
-                        keywordMatch = fullName.contains(keyword) || email.contains(keyword);
-                    }
-                    return keywordMatch;
-                })
-                // Filtert nach der ausgewählten Abteilung
-                .filter(emp -> {
-                    boolean departmentMatch = true;
-                    if (department != null && !department.equals("Alle Abteilungen")) {
-                        String empDepartmentName = departmentIdToNameCache.getOrDefault(emp.getDepartmentId(), "");
-                        departmentMatch = empDepartmentName.equalsIgnoreCase(department);
-                    }
-                    return departmentMatch;
-                })
-                .collect(Collectors.toList());
+        if (keyword.equals(searchPlaceholder.toLowerCase())) {
+            keyword = "";
+        }
+        String departmentId = null;
+        if (department != null && !department.equals("Alle Abteilungen")) {
+            // Unbekannte Abteilungsnamen ergeben eine leere Trefferliste statt aller Mitarbeiter
+            departmentId = departmentNameToIdCache.getOrDefault(department, department);
+        }
 
-        System.out.println("SearchView: Nach Filterung wurden " + filtered.size() + " Mitarbeiter gefunden.");
+        cancelRunningSearch();
+        long generation = searchGeneration.incrementAndGet();
+        clearResultsList();
 
-        // Aktualisiert das UI-Panel mit den gefilterten Ergebnissen
-        updateResultsPanel(filtered);
+        String finalKeyword = keyword;
+        String finalDepartmentId = departmentId;
+        runningSearch = searchExecutor.submit(() -> runSearch(generation, finalKeyword, finalDepartmentId));
     }
 
     /**
-     * Aktualisiert das Ergebnispanel mit den gefundenen Mitarbeitern.
-     * Erstellt für jeden Mitarbeiter eine anklickbare Karte.
+     * Läuft im Hintergrund: löst die Suche über den Suchindex des EmployeeManagers auf und reicht die Treffer
+     * in Blöcken an den EDT weiter. Wird die Suche abgebrochen oder von einer neueren abgelöst, endet sie vorzeitig.
      *
-     * @param results Die Liste der gefilterten Mitarbeiter.
+     * @param generation Nummer dieser Suche.
+     * @param keyword Der normalisierte Suchbegriff.
+     * @param departmentId Die ausgewählte Abteilung oder null für alle.
      */
-    private void updateResultsPanel(List<Employee> results) {
-        // Entfernt alle alten Ergebnisse
-        this.resultsPanel.removeAll();
-
-        if (results.isEmpty()) {
-            JLabel noResults = new JLabel("Keine Ergebnisse gefunden.");
-            noResults.setAlignmentX(Component.CENTER_ALIGNMENT);
-            this.resultsPanel.add(noResults);
-        } else {
-            // Erstellt für jeden Mitarbeiter eine "Karte"
-            for (Employee emp : results) {
-                JPanel card = new JPanel(new BorderLayout());
-                card.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1, true));
-                card.setBackground(new Color(255, 255, 255, 180));
-
-                Dimension cardSize = new Dimension(600, 50);
-                card.setPreferredSize(cardSize);
-                card.setMaximumSize(cardSize);
-
-                card.setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1, true),
-                        BorderFactory.createEmptyBorder(10, 10, 10, 10)
-                ));
-
-                String basic = emp.getFirstName() + " " + emp.getLastName() + " (" + emp.getEmail() + ")";
-                JLabel label = new JLabel(basic);
-                label.setForeground(Color.BLACK);
-                card.add(label, BorderLayout.CENTER);
-
-                card.setCursor(new Cursor(Cursor.HAND_CURSOR));
-                // Fügt einen MouseListener hinzu, um auf Klicks zu reagieren
-                card.addMouseListener(new MouseAdapter() {
-                    @Override
-                    public void mouseClicked(MouseEvent e) {
-                        System.out.println("Mitarbeiterkarte geklickt im Modus: " + mode);
-                        if (eventManager != null) {
-                            // Je nach Modus wird eine andere View aufgerufen
-                            if ("edit_mode".equals(mode)) {
-                                eventManager.callEvent("changeView", new Object[]{
-                                        new EditEmployeeView(currentUser, emp, employeeManager, eventManager)
-                                });
-                            } else {
-                                eventManager.callEvent("changeView", new Object[]{
-                                        new EmployeeDataView(currentUser, emp, employeeManager, eventManager)
-                                });
-                            }
-                        } else {
-                            System.err.println("Fehler: EventManager ist in SearchView nicht gesetzt!");
-                            JOptionPane.showMessageDialog(card,
-                                    "Interner Fehler: EventManager ist nicht verfügbar. Ansicht kann nicht gewechselt werden.",
-                                    "Fehler",
-                                    JOptionPane.ERROR_MESSAGE);
-                        }
-                    }
-                });
+    private void runSearch(long generation, String keyword, String departmentId) {
+        try {
+            // Die Zusammenfassungen enthalten nur Grunddaten (Name, E-Mail), die für alle sichtbar sind.
+            // Blöcke werden schon während des Durchlaufs durch den Index an den EDT gereicht.
+            List<EmployeeSummary> chunk = new ArrayList<>(resultChunkSize);
+            int found = employeeManager.searchEmployeeSummaries(keyword, departmentId, summary -> {
+                if (isStale(generation)) return false;
+                chunk.add(summary);
+                if (chunk.size() == resultChunkSize) {
+                    publishResults(generation, List.copyOf(chunk));
+                    chunk.clear();
+                }
+                return true;
+            });
+            if (isStale(generation)) return;
+            publishResults(generation, List.copyOf(chunk));
+
+            int total = found;
+            SwingUtilities.invokeLater(() -> {
+                if (generation != searchGeneration.get()) return;
+                System.out.println("SearchView: Nach Filterung wurden " + total + " Mitarbeiter gefunden.");
+                if (total == 0) {
+                    this.scrollPane.setViewportView(this.noResultsLabel);
+                }
+            });
+        } catch (RuntimeException e) {
+            System.err.println("SearchView: Fehler bei der Suche: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
-                this.resultsPanel.add(card);
-                this.resultsPanel.add(Box.createVerticalStrut(5));
-            }
+    private boolean isStale(long generation) {
+        return generation != searchGeneration.get();
+    }
+
+    /**
+     * Hängt einen Block von Treffern auf dem EDT an die Ergebnisliste an, sofern die Suche noch aktuell ist.
+     */
+    private void publishResults(long generation, List<EmployeeSummary> chunk) {
+        if (chunk.isEmpty()) return;
+        SwingUtilities.invokeLater(() -> {
+            if (generation != searchGeneration.get()) return;
+            this.resultsModel.addEmployees(chunk);
+        });
+    }
+
+    private void cancelRunningSearch() {
+        if (runningSearch != null) {
+            // Nicht unterbrechen: ein Interrupt während eines Dateizugriffs schließt die eingebettete H2-Datenbank
+            runningSearch.cancel(false);
+            runningSearch = null;
         }
+    }
+
+    /**
+     * Bricht eine laufende Suche ab, wenn die View nicht mehr angezeigt wird.
+     */
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        debounceTimer.stop();
+        searchGeneration.incrementAndGet();
+        cancelRunningSearch();
+    }
+
+    /**
+     * Leert die Ergebnisliste vor einer neuen Suche.
+     * Es wird nur das Listenmodell ersetzt, die Karten werden beim Zeichnen für die sichtbaren Zeilen erzeugt.
+     */
+    private void clearResultsList() {
+        this.resultsModel.clear();
+        this.resultsList.clearSelection();
+        this.scrollPane.setViewportView(this.resultsList);
+    }
 
-        // Aktualisiert das Layout der Ergebnisliste
-        this.resultsPanel.revalidate();
-        this.resultsPanel.repaint();
+    /**
+     * Lädt den vollständigen Mitarbeiter und öffnet je nach Modus seine Detail- oder Bearbeitungsansicht.
+     *
+     * @param summary Der angeklickte Mitarbeiter.
+     */
+    private void openEmployee(EmployeeSummary summary) {
+        System.out.println("Mitarbeiterkarte geklickt im Modus: " + mode);
+        Employee emp = employeeManager.getEmployeeById(summary.id());
+        if (emp == null) {
+            JOptionPane.showMessageDialog(this,
+                    "Der Mitarbeiter existiert nicht mehr.",
+                    "Fehler",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (eventManager != null) {
+            // Je nach Modus wird eine andere View aufgerufen
+            if ("edit_mode".equals(mode)) {
+                eventManager.callEvent("changeView", new Object[]{
+                        new EditEmployeeView(currentUser, emp, employeeManager, eventManager)
+                });
+            } else {
+                eventManager.callEvent("changeView", new Object[]{
+                        new EmployeeDataView(currentUser, emp, employeeManager, eventManager)
+                });
+            }
+        } else {
+            System.err.println("Fehler: EventManager ist in SearchView nicht gesetzt!");
+            JOptionPane.showMessageDialog(this,
+                    "Interner Fehler: EventManager ist nicht verfügbar. Ansicht kann nicht gewechselt werden.",
+                    "Fehler",
+                    JOptionPane.ERROR_MESSAGE);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,28 @@
 package model.db;
 
+import model.json.Department;
+import model.json.Role;
+import model.json.Team;
+
 import java.util.*;
 
 /**
  * Mitarbeiter-Objekt, welches alle Daten eines Mitarbeiters enthält.
  *
  * @author Elias Glauert, Dorian Gläske
- * @version 1.4
+ * @version 1.10 (equals lädt keine fehlenden Felder nach)
  * @since 2025-07-04
  */
 public class Employee {
 
+    /**
+     * Lädt die fehlenden Felder eines teilweise geladenen Mitarbeiters nach, siehe {@link #markPartial}.
+     */
+    @FunctionalInterface
+    public interface Hydrator {
+        void hydrate(Employee employee);
+    }
+
     private int id;
     private String username;
     private String password;
@@ -35,6 +47,36 @@ public class Employee {
     private boolean hrHead;
     private boolean isManager;
 
+    /**
+     * Geänderte Felder seit dem letzten Laden oder Speichern, ein Bit pro {@link EmployeeField#ordinal()}.
+     * Gehört nicht zu den Daten des Mitarbeiters und zählt daher weder für equals noch für hashCode.
+     * Setter laufen meist im EDT, gespeichert wird auf einem virtuellen Thread. Setter, die Felder markieren, und alle
+     * Methoden der Änderungsverfolgung sind deshalb auf dem Mitarbeiter synchronisiert.
+     */
+    private long dirtyFields;
+    private boolean tracked;
+
+    /**
+     * Zeilenversion des Datenbankstands, der zuletzt gelesen oder geschrieben wurde, 0 wenn unbekannt.
+     * Beim Abgleich des Caches zeigt eine gleiche Version, dass das Objekt schon aktuell ist.
+     */
+    private long rowVersion;
+
+    /**
+     * Geteilte Objekte zu departmentId, teamId und roleId aus dem OrgReferenceRegistry.
+     * Werden beim Ändern der jeweiligen ID verworfen und zählen nicht zu den Daten des Mitarbeiters.
+     */
+    private Department department;
+    private Team team;
+    private Role role;
+
+    /**
+     * Noch nicht aus der Datenbank geladene Felder, ein Bit pro {@link EmployeeField#ordinal()}.
+     * Der erste Zugriff auf eines davon lädt über den Hydrator alle fehlenden Felder auf einmal nach.
+     */
+    private long missingFields;
+    private Hydrator hydrator;
+
     // Standardkonstruktor (optional, aber oft nützlich)
     public Employee() {
     }
@@ -105,15 +147,18 @@ public class Employee {
         return username;
     }
 
-    public void setUsername(String username) {
+    public synchronized void setUsername(String username) {
+        if (!Objects.equals(this.username, username)) markDirty(EmployeeField.USERNAME);
         this.username = username;
     }
 
     public String getPassword() {
+        ensureLoaded(EmployeeField.PASSWORD);
         return password;
     }
 
-    public void setPassword(String password) {
+    public synchronized void setPassword(String password) {
+        if (takeMissing(EmployeeField.PASSWORD) || !Objects.equals(this.password, password)) markDirty(EmployeeField.PASSWORD);
         this.password = password;
     }
 
@@ -121,7 +166,8 @@ public class Employee {
         return permissionString;
     }
 
-    public void setPermissionString(String permissionString) {
+    public synchronized void setPermissionString(String permissionString) {
+        if (!Objects.equals(this.permissionString, permissionString)) markDirty(EmployeeField.PERMISSION_STRING);
         this.permissionString = permissionString;
     }
 
@@ -129,7 +175,8 @@ public class Employee {
         return firstName;
     }
 
-    public void setFirstName(String firstName) {
+    public synchronized void setFirstName(String firstName) {
+        if (!Objects.equals(this.firstName, firstName)) markDirty(EmployeeField.FIRST_NAME);
         this.firstName = firstName;
     }
 
@@ -137,7 +184,8 @@ public class Employee {
         return lastName;
     }
 
-    public void setLastName(String lastName) {
+    public synchronized void setLastName(String lastName) {
+        if (!Objects.equals(this.lastName, lastName)) markDirty(EmployeeField.LAST_NAME);
         this.lastName = lastName;
     }
 
@@ -145,7 +193,8 @@ public class Employee {
         return email;
     }
 
-    public void setEmail(String email) {
+    public synchronized void setEmail(String email) {
+        if (!Objects.equals(this.email, email)) markDirty(EmployeeField.EMAIL);
         this.email = email;
     }
 
@@ -153,7 +202,8 @@ public class Employee {
         return phoneNumber;
     }
 
-    public void setPhoneNumber(String phoneNumber) {
+    public synchronized void setPhoneNumber(String phoneNumber) {
+        if (!Objects.equals(this.phoneNumber, phoneNumber)) markDirty(EmployeeField.PHONE_NUMBER);
         this.phoneNumber = phoneNumber;
     }
 
@@ -161,15 +211,18 @@ public class Employee {
         return dateOfBirth;
     }
 
-    public void setDateOfBirth(Date dateOfBirth) { // Geändert von LocalDate
+    public synchronized void setDateOfBirth(Date dateOfBirth) { // Geändert von LocalDate
+        if (!Objects.equals(this.dateOfBirth, dateOfBirth)) markDirty(EmployeeField.DATE_OF_BIRTH);
         this.dateOfBirth = dateOfBirth;
     }
 
     public String getAddress() {
+        ensureLoaded(EmployeeField.ADDRESS);
         return address;
     }
 
-    public void setAddress(String address) {
+    public synchronized void setAddress(String address) {
+        if (takeMissing(EmployeeField.ADDRESS) || !Objects.equals(this.address, address)) markDirty(EmployeeField.ADDRESS);
         this.address = address;
     }
 
@@ -177,7 +230,8 @@ public class Employee {
         return gender;
     }
 
-    public void setGender(char gender) {
+    public synchronized void setGender(char gender) {
+        if (this.gender != gender) markDirty(EmployeeField.GENDER);
         this.gender = gender;
     }
 
@@ -185,7 +239,8 @@ public class Employee {
         return hireDate;
     }
 
-    public void setHireDate(Date hireDate) { // Geändert von LocalDate
+    public synchronized void setHireDate(Date hireDate) { // Geändert von LocalDate
+        if (!Objects.equals(this.hireDate, hireDate)) markDirty(EmployeeField.HIRE_DATE);
         this.hireDate = hireDate;
     }
 
@@ -193,7 +248,8 @@ public class Employee {
         return employmentStatus;
     }
 
-    public void setEmploymentStatus(String employmentStatus) {
+    public synchronized void setEmploymentStatus(String employmentStatus) {
+        if (!Objects.equals(this.employmentStatus, employmentStatus)) markDirty(EmployeeField.EMPLOYMENT_STATUS);
         this.employmentStatus = employmentStatus;
     }
 
@@ -201,7 +257,11 @@ public class Employee {
         return departmentId;
     }
 
-    public void setDepartmentId(String departmentId) {
+    public synchronized void setDepartmentId(String departmentId) {
+        if (!Objects.equals(this.departmentId, departmentId)) {
+            markDirty(EmployeeField.DEPARTMENT_ID);
+            department = null;
+        }
         this.departmentId = departmentId;
     }
 
@@ -209,7 +269,11 @@ public class Employee {
         return teamId;
     }
 
-    public void setTeamId(String teamId) {
+    public synchronized void setTeamId(String teamId) {
+        if (!Objects.equals(this.teamId, teamId)) {
+            markDirty(EmployeeField.TEAM_ID);
+            team = null;
+        }
         this.teamId = teamId;
     }
 
@@ -217,23 +281,53 @@ public class Employee {
         return roleId;
     }
 
-    public void setRoleId(String roleId) {
+    public synchronized void setRoleId(String roleId) {
+        if (!Objects.equals(this.roleId, roleId)) {
+            markDirty(EmployeeField.ROLE_ID);
+            role = null;
+        }
         this.roleId = roleId;
     }
 
+    public Department getDepartment() {
+        return department;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * Hängt die zu den aktuellen IDs gehörenden Strukturobjekte an, siehe OrgReferenceRegistry.attach().
+     * @author Elias Glauert
+     */
+    public synchronized void setOrgReferences(Department department, Team team, Role role) {
+        this.department = department;
+        this.team = team;
+        this.role = role;
+    }
+
     public String getQualifications() {
+        ensureLoaded(EmployeeField.QUALIFICATIONS);
         return qualifications;
     }
 
-    public void setQualifications(String qualifications) {
+    public synchronized void setQualifications(String qualifications) {
+        if (takeMissing(EmployeeField.QUALIFICATIONS) || !Objects.equals(this.qualifications, qualifications)) markDirty(EmployeeField.QUALIFICATIONS);
         this.qualifications = qualifications;
     }
 
     public String getCompletedTrainings() {
+        ensureLoaded(EmployeeField.COMPLETED_TRAININGS);
         return completedTrainings;
     }
 
-    public void setCompletedTrainings(String completedTrainings) {
+    public synchronized void setCompletedTrainings(String completedTrainings) {
+        if (takeMissing(EmployeeField.COMPLETED_TRAININGS) || !Objects.equals(this.completedTrainings, completedTrainings)) markDirty(EmployeeField.COMPLETED_TRAININGS);
         this.completedTrainings = completedTrainings;
     }
 
@@ -241,7 +335,8 @@ public class Employee {
         return managerId;
     }
 
-    public void setManagerId(Integer managerId) {
+    public synchronized void setManagerId(Integer managerId) {
+        if (!Objects.equals(this.managerId, managerId)) markDirty(EmployeeField.MANAGER_ID);
         this.managerId = managerId;
     }
 
@@ -249,7 +344,8 @@ public class Employee {
         return itAdmin;
     }
 
-    public void setItAdmin(boolean itAdmin) {
+    public synchronized void setItAdmin(boolean itAdmin) {
+        if (this.itAdmin != itAdmin) markDirty(EmployeeField.IT_ADMIN);
         this.itAdmin = itAdmin;
     }
 
@@ -257,7 +353,8 @@ public class Employee {
         return hr;
     }
 
-    public void setHr(boolean hr) {
+    public synchronized void setHr(boolean hr) {
+        if (this.hr != hr) markDirty(EmployeeField.HR);
         this.hr = hr;
     }
 
@@ -265,7 +362,8 @@ public class Employee {
         return hrHead;
     }
 
-    public void setHrHead(boolean hrHead) {
+    public synchronized void setHrHead(boolean hrHead) {
+        if (this.hrHead != hrHead) markDirty(EmployeeField.HR_HEAD);
         this.hrHead = hrHead;
     }
 
@@ -273,7 +371,8 @@ public class Employee {
         return isManager;
     }
 
-    public void setManager(boolean manager) {
+    public synchronized void setManager(boolean manager) {
+        if (isManager != manager) markDirty(EmployeeField.IS_MANAGER);
         isManager = manager;
     }
 
@@ -282,12 +381,54 @@ public class Employee {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Employee employee = (Employee) o;
-        return id == employee.id && gender == employee.gender && itAdmin == employee.itAdmin && hr == employee.hr && hrHead == employee.hrHead && isManager == employee.isManager && Objects.equals(username, employee.username) && Objects.equals(password, employee.password) && Objects.equals(permissionString, employee.permissionString) && Objects.equals(firstName, employee.firstName) && Objects.equals(lastName, employee.lastName) && Objects.equals(email, employee.email) && Objects.equals(phoneNumber, employee.phoneNumber) && Objects.equals(dateOfBirth, employee.dateOfBirth) && Objects.equals(address, employee.address) && Objects.equals(hireDate, employee.hireDate) && Objects.equals(employmentStatus, employee.employmentStatus) && Objects.equals(departmentId, employee.departmentId) && Objects.equals(teamId, employee.teamId) && Objects.equals(roleId, employee.roleId) && Objects.equals(qualifications, employee.qualifications) && Objects.equals(completedTrainings, employee.completedTrainings) && Objects.equals(managerId, employee.managerId);
+        return id == employee.id && gender == employee.gender && itAdmin == employee.itAdmin && hr == employee.hr && hrHead == employee.hrHead && isManager == employee.isManager && Objects.equals(username, employee.username) && Objects.equals(permissionString, employee.permissionString) && Objects.equals(firstName, employee.firstName) && Objects.equals(lastName, employee.lastName) && Objects.equals(email, employee.email) && Objects.equals(phoneNumber, employee.phoneNumber) && Objects.equals(dateOfBirth, employee.dateOfBirth) && Objects.equals(hireDate, employee.hireDate) && Objects.equals(employmentStatus, employee.employmentStatus) && Objects.equals(departmentId, employee.departmentId) && Objects.equals(teamId, employee.teamId) && Objects.equals(roleId, employee.roleId) && Objects.equals(managerId, employee.managerId)
+                && lazyFieldsEqual(employee);
+    }
+
+    /**
+     * Vergleicht die nachladbaren Felder, ohne sie nachzuladen, damit equals() nie auf die Datenbank zugreift.
+     * Ist ein Feld bei beiden geladen, werden die Werte verglichen. Fehlt es bei einem, gilt es nur dann als gleich,
+     * wenn beide denselben Datenbankstand (gleiche Zeilenversion) haben und das Feld beim anderen nicht geändert wurde.
+     * Die Zustände werden nacheinander unter der jeweils eigenen Sperre gelesen, nie unter beiden zugleich.
+     */
+    private boolean lazyFieldsEqual(Employee other) {
+        LazyState mine = lazyState();
+        LazyState theirs = other.lazyState();
+        for (EmployeeField field : new EmployeeField[]{EmployeeField.PASSWORD, EmployeeField.ADDRESS,
+                EmployeeField.QUALIFICATIONS, EmployeeField.COMPLETED_TRAININGS}) {
+            long bit = 1L << field.ordinal();
+            if (((mine.missingFields() | theirs.missingFields()) & bit) == 0) {
+                if (!Objects.equals(mine.value(field), theirs.value(field))) return false;
+            } else if (mine.rowVersion() == 0 || mine.rowVersion() != theirs.rowVersion()
+                    || ((mine.dirtyFields() | theirs.dirtyFields()) & bit) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized LazyState lazyState() {
+        return new LazyState(missingFields, dirtyFields, rowVersion, password, address, qualifications, completedTrainings);
+    }
+
+    private record LazyState(long missingFields, long dirtyFields, long rowVersion,
+                             String password, String address, String qualifications, String completedTrainings) {
+
+        String value(EmployeeField field) {
+            return switch (field) {
+                case PASSWORD -> password;
+                case ADDRESS -> address;
+                case QUALIFICATIONS -> qualifications;
+                case COMPLETED_TRAININGS -> completedTrainings;
+                default -> throw new IllegalArgumentException("Feld " + field + " kann nicht nachgeladen werden.");
+            };
+        }
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, username, password, permissionString, firstName, lastName, email, phoneNumber, dateOfBirth, address, gender, hireDate, employmentStatus, departmentId, teamId, roleId, qualifications, completedTrainings, managerId, itAdmin, hr, hrHead, isManager);
+        // Ohne die nachladbaren Felder, damit hashCode() nie auf die Datenbank zugreift
+        return Objects.hash(id, username, permissionString, firstName, lastName, email, phoneNumber, dateOfBirth, gender, hireDate, employmentStatus, departmentId, teamId, roleId, managerId, itAdmin, hr, hrHead, isManager);
     }
 
     @Override
@@ -304,7 +445,172 @@ public class Employee {
                 '}';
     }
 
+    // --- Änderungsverfolgung ---
+
+    private synchronized void markDirty(EmployeeField field) {
+        dirtyFields |= 1L << field.ordinal();
+    }
+
+    /**
+     * Markiert den aktuellen Stand als identisch mit der Datenbank. Ab jetzt werden Änderungen verfolgt.
+     * Wird vom DAO nach dem Laden aufgerufen.
+     * @author Elias Glauert
+     */
+    public synchronized void markClean() {
+        dirtyFields = 0;
+        tracked = true;
+    }
+
+    /**
+     * Gibt an, ob der Stand des Objekts aus der Datenbank bekannt ist.
+     * Nur dann beschreiben die geänderten Felder vollständig, was gespeichert werden muss.
+     */
+    public synchronized boolean isTracked() {
+        return tracked;
+    }
+
+    /**
+     * Markiert das Objekt nach dem ersten Schreiben als verfolgt, ohne zwischenzeitliche Änderungen zu verwerfen.
+     * @author Elias Glauert
+     */
+    public synchronized void markTracked() {
+        tracked = true;
+    }
+
+    public synchronized boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    /**
+     * Die seit dem letzten markClean() geänderten Felder. Ein Setter mit unverändertem Wert zählt nicht als Änderung.
+     * @return Die geänderten Felder in Spaltenreihenfolge.
+     * @author Elias Glauert
+     */
+    public synchronized EnumSet<EmployeeField> getDirtyFields() {
+        return toFields(dirtyFields);
+    }
+
+    /**
+     * Gibt die geänderten Felder zurück und setzt sie in einem Schritt zurück. Wird vom DAO vor dem Schreiben aufgerufen,
+     * das danach die aktuellen Werte liest. Ein Setter, der währenddessen läuft, markiert sein Feld erneut,
+     * die Änderung geht also nicht verloren, sondern wird höchstens ein zweites Mal geschrieben.
+     * @return Die geänderten Felder in Spaltenreihenfolge.
+     * @author Elias Glauert
+     */
+    public synchronized EnumSet<EmployeeField> takeDirtyFields() {
+        EnumSet<EmployeeField> fields = toFields(dirtyFields);
+        dirtyFields = 0;
+        return fields;
+    }
+
+    public synchronized long getRowVersion() {
+        return rowVersion;
+    }
+
+    public synchronized void setRowVersion(long rowVersion) {
+        this.rowVersion = rowVersion;
+    }
+
+    /**
+     * Markiert Felder erneut als geändert, z.B. wenn das Schreiben nach {@link #takeDirtyFields()} fehlgeschlagen ist.
+     * @author Elias Glauert
+     */
+    public synchronized void restoreDirtyFields(Set<EmployeeField> fields) {
+        for (EmployeeField field : fields) {
+            dirtyFields |= 1L << field.ordinal();
+        }
+    }
+
     public List<String> getCompletedTrainingIds() {
-        return Collections.singletonList(qualifications);
+        return Collections.singletonList(getQualifications());
+    }
+
+    // --- Teilweises Laden ---
+
+    /**
+     * Markiert Felder als noch nicht geladen. Ihr Wert wird beim ersten Zugriff über den Hydrator nachgeladen,
+     * ein Setter ersetzt den fehlenden Wert dagegen direkt und markiert das Feld als geändert.
+     * @param fields Die nicht geladenen Felder, möglich sind Passwort, Adresse, Qualifikationen und Schulungen.
+     * @param hydrator Lädt die Felder nach, typischerweise der EmployeeDao.
+     * @author Elias Glauert
+     */
+    public synchronized void markPartial(Set<EmployeeField> fields, Hydrator hydrator) {
+        for (EmployeeField field : fields) {
+            checkLazy(field);
+            missingFields |= 1L << field.ordinal();
+        }
+        this.hydrator = hydrator;
+    }
+
+    /**
+     * Setzt den nachgeladenen Wert eines fehlenden Feldes, ohne es als geändert zu markieren.
+     * Wurde das Feld inzwischen über einen Setter gesetzt, bleibt dieser Wert erhalten.
+     * @author Elias Glauert
+     */
+    public synchronized void hydrate(EmployeeField field, String value) {
+        checkLazy(field);
+        if (!takeMissing(field)) return;
+        switch (field) {
+            case PASSWORD -> password = value;
+            case ADDRESS -> address = value;
+            case QUALIFICATIONS -> qualifications = value;
+            case COMPLETED_TRAININGS -> completedTrainings = value;
+            default -> throw new IllegalStateException();
+        }
+    }
+
+    public synchronized boolean isHydrated() {
+        return missingFields == 0;
+    }
+
+    /**
+     * Die noch nicht geladenen Felder.
+     * @return Die fehlenden Felder in Spaltenreihenfolge, leer bei einem vollständig geladenen Mitarbeiter.
+     */
+    public synchronized EnumSet<EmployeeField> getMissingFields() {
+        return toFields(missingFields);
+    }
+
+    /**
+     * Lädt die fehlenden Felder nach, falls das angefragte Feld dazugehört.
+     * Der Hydrator läuft außerhalb der Sperre, damit Setter während des Datenbankzugriffs nicht warten müssen.
+     */
+    private void ensureLoaded(EmployeeField field) {
+        Hydrator current;
+        synchronized (this) {
+            current = (missingFields & (1L << field.ordinal())) != 0 ? hydrator : null;
+        }
+        if (current != null) {
+            current.hydrate(this);
+        }
+    }
+
+    /**
+     * Entfernt ein Feld aus den fehlenden Feldern.
+     * @return true, wenn das Feld gefehlt hat.
+     */
+    private synchronized boolean takeMissing(EmployeeField field) {
+        long bit = 1L << field.ordinal();
+        if ((missingFields & bit) == 0) return false;
+        missingFields &= ~bit;
+        if (missingFields == 0) hydrator = null;
+        return true;
+    }
+
+    private static EnumSet<EmployeeField> toFields(long bits) {
+        EnumSet<EmployeeField> fields = EnumSet.noneOf(EmployeeField.class);
+        for (EmployeeField field : EmployeeField.values()) {
+            if ((bits & (1L << field.ordinal())) != 0) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static void checkLazy(EmployeeField field) {
+        switch (field) {
+            case PASSWORD, ADDRESS, QUALIFICATIONS, COMPLETED_TRAININGS -> {}
+            default -> throw new IllegalArgumentException("Feld " + field + " kann nicht nachgeladen werden.");
+        }
     }
 }
@@ -0,0 +1,85 @@
+package model.db;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Alle Felder eines Mitarbeiters mit ihrer Spalte in der Tabelle 'Employees'.
+ * Dient als Whitelist: nur Feldnamen, die hier stehen, werden jemals in SQL übersetzt.
+ * Die Reihenfolge entspricht der Spaltenreihenfolge der Tabelle.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public enum EmployeeField {
+
+    ID("id", "id", Type.INT),
+    USERNAME("username", "username", Type.STRING),
+    PASSWORD("password", "password", Type.STRING),
+    PERMISSION_STRING("permissionString", "permission_string", Type.STRING),
+    FIRST_NAME("firstName", "first_name", Type.STRING),
+    LAST_NAME("lastName", "last_name", Type.STRING),
+    EMAIL("email", "email", Type.STRING),
+    PHONE_NUMBER("phoneNumber", "phone_number", Type.STRING),
+    DATE_OF_BIRTH("dateOfBirth", "date_of_birth", Type.DATE),
+    ADDRESS("address", "address", Type.STRING),
+    GENDER("gender", "gender", Type.STRING),
+    HIRE_DATE("hireDate", "hire_date", Type.DATE),
+    EMPLOYMENT_STATUS("employmentStatus", "employment_status", Type.STRING),
+    DEPARTMENT_ID("departmentId", "department_id", Type.STRING),
+    TEAM_ID("teamId", "team_id", Type.STRING),
+    ROLE_ID("roleId", "role_id", Type.STRING),
+    QUALIFICATIONS("qualifications", "qualifications", Type.STRING),
+    COMPLETED_TRAININGS("completedTrainings", "completed_trainings", Type.STRING),
+    MANAGER_ID("managerId", "manager_id", Type.INT),
+    IT_ADMIN("itAdmin", "it_admin", Type.BOOLEAN),
+    HR("hr", "hr", Type.BOOLEAN),
+    HR_HEAD("hrHead", "hr_head", Type.BOOLEAN),
+    IS_MANAGER("isManager", "is_manager", Type.BOOLEAN);
+
+    /**
+     * SQL-Typ einer Spalte, bestimmt wie ein Suchwert gebunden wird.
+     */
+    public enum Type { STRING, INT, DATE, BOOLEAN }
+
+    private static final Map<String, EmployeeField> by_field_name = new HashMap<>();
+
+    static {
+        for (EmployeeField field : values()) {
+            by_field_name.put(field.fieldName, field);
+        }
+    }
+
+    private final String fieldName;
+    private final String column;
+    private final Type type;
+
+    EmployeeField(String fieldName, String column, Type type) {
+        this.fieldName = fieldName;
+        this.column = column;
+        this.type = type;
+    }
+
+    /**
+     * Sucht das Feld zu einem camelCase-Feldnamen (z.B. "departmentId").
+     * @param fieldName Name des Feldes wie im Employee-Objekt.
+     * @return Das Feld oder null, wenn der Name nicht bekannt ist.
+     * @author Elias Glauert
+     */
+    public static EmployeeField fromFieldName(String fieldName) {
+        return by_field_name.get(fieldName);
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Type getType() {
+        return type;
+    }
+}
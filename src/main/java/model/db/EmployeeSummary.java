@@ -0,0 +1,29 @@
+package model.db;
+
+/**
+ * Schlanke Sicht auf einen Mitarbeiter mit den Daten, die Listen und die Suche brauchen.
+ * Enthält keine Passwörter, Adressen oder Qualifikationen; der vollständige Mitarbeiter wird erst geladen,
+ * wenn seine Detail- oder Bearbeitungsansicht geöffnet wird.
+ *
+ * @param id ID des Mitarbeiters.
+ * @param firstName Vorname.
+ * @param lastName Nachname.
+ * @param email E-Mail-Adresse.
+ * @param departmentId ID der Abteilung.
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public record EmployeeSummary(int id, String firstName, String lastName, String email, String departmentId) {
+
+    /**
+     * Erstellt die Zusammenfassung eines bereits geladenen Mitarbeiters.
+     * @param employee Der Mitarbeiter.
+     * @return Die Zusammenfassung.
+     * @author Elias Glauert
+     */
+    public static EmployeeSummary of(Employee employee) {
+        return new EmployeeSummary(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getDepartmentId());
+    }
+}
@@ -4,13 +4,15 @@ import java.io.File;
 import java.sql.Connection;
 import java.sql.Statement;
 import db.DatabaseManager;
+import db.SchemaMigrator;
 
 /**
  * Mit dieser Klasse wird eine Datenbank erstellt nach den database.properties, falls keine eigene vorhanden ist.
+ * Anschließend werden fehlende Schema-Migrationen über den SchemaMigrator nachgezogen.
  * Klasse wird statisch verwendet.
  *
  * @author Elias Glauert
- * @version 1.2
+ * @version 1.3
  * @since 2025-07-05
  */
 public class DatabaseGenerator {
@@ -27,7 +29,7 @@ public class DatabaseGenerator {
         try (Connection conn = dbManager.getConnection();
              Statement stmt = conn.createStatement()) {
 
-            String createEmployeesTable = SqlReader.giveCommand("createTableEmployees");
+            String createEmployeesTable = SqlRegistry.command("createTableEmployees");
 
             stmt.execute(createEmployeesTable);
             System.out.println("Tabelle 'Employees' wurde erstellt.");
@@ -39,7 +41,7 @@ public class DatabaseGenerator {
     }
 
     /**
-     * Erstellt die Datenbank-Dateien, falls sie noch nicht vorhanden sind.
+     * Erstellt die Datenbank-Dateien, falls sie noch nicht vorhanden sind, und wendet fehlende Migrationen an.
      * @author Elias Glauert
      */
     public static void setupDatabase() {
@@ -51,6 +53,7 @@ public class DatabaseGenerator {
             System.out.println("Datenbankdatei vorhanden. Verbindung wird nur hergestellt...");
         }
         dbManager.connect();
+        new SchemaMigrator(dbManager).migrate();
     }
 
     public static void setDbManager(DatabaseManager dbManager1) {
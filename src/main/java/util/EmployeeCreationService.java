@@ -105,9 +105,8 @@ public class EmployeeCreationService {
                 System.out.println("  " + emp.toString() + " | Is Manager: " + emp.isManager());
             }
 
-            for (Employee emp : employees) {
-                employeeDao.addEmployeeToDb(emp);
-            }
+            // Alle Mitarbeiter gebündelt schreiben, die IDs werden dabei von der Datenbank gesetzt
+            employeeDao.addEmployeesBatch(employees);
 
         } catch (IllegalStateException e) {
             System.err.println("Fehler in der Unternehmensstruktur (CompanyStructureManager): " + e.getMessage());
@@ -83,10 +83,11 @@ public class EmployeeFieldAccessEvaluator {
 
     /**
      * Hilfsmethode, um festzustellen, ob ein Manager in der Vorgesetzten-Kette
-     * eines Mitarbeiters steht.
+     * eines Mitarbeiters steht. Die Kette wird nicht mehr abgelaufen, sondern über
+     * den Hierarchie-Index des EmployeeManagers in O(1) beantwortet.
      * @param manager Der Manager, der überprüft wird.
      * @param employee Der Mitarbeiter, von dem die Kette ausgeht.
-     * @param employeeManager Eine Instanz des EmployeeManagers zur Suche von Mitarbeitern.
+     * @param employeeManager Eine Instanz des EmployeeManagers mit dem Hierarchie-Index.
      * @return true, wenn der Manager Vorgesetzter ist, sonst false.
      * @author joshuasperber
      */
@@ -101,13 +102,7 @@ public class EmployeeFieldAccessEvaluator {
             return true;
         }
 
-        // Holt den nächsten Vorgesetzten in der Kette und prüft rekursiv
-        Employee nextManager = employeeManager.findById(String.valueOf(employee.getManagerId()));
-        if (nextManager != null) {
-            return isManagerOf(manager, nextManager, employeeManager);
-        }
-
-        return false; // Manager wurde in der Kette nicht gefunden
+        return employeeManager.isManagerOf(manager.getId(), employee.getId());
     }
 
     /**
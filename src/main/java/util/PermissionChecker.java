@@ -2,10 +2,16 @@ package util;
 
 import model.db.Employee;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Überprüft den Permission String jedes Mitarbeiters, ob bestimmte Features angezeigt werden sollen.
+ * Intern werden die Berechtigungen als Bitmaske gehalten, die Permission Strings (z.B. "BSHTt") werden nur beim
+ * Setzen einmal übersetzt. Rollen und Abteilungen werden einmal pro ID in eine Tabelle aufgelöst,
+ * sodass jede Prüfung nur noch ein Nachschlagen und eine UND-Verknüpfung ist.
  * Klasse wird statisch verwendet.
- * @version 1.0
+ * @version 1.1
  * @since 2025-07-13
  * @author Elias Glauert, Joshua Sperber
  */
@@ -19,14 +25,50 @@ public class PermissionChecker {
      * T - Trainings an HR Mitarbeiter
      * t - Training erteilen
      */
-    private static final String full_permissions_string   = "BSHTt";
-    private static final String admin_permissions_string  = "BSHTt";
-    private static final String hr_permission_head_string = "--HTt";
-    private static final String hr_permissions_string     = "--H-t";
-    private static final String head_permission_string    = "--H--";
-    private static final String normal_permissions_string = "-----";
-    private static final String empty_permissions_string  = "-----";
-    private static String       current_permissions       = "-----";
+    public static final int perm_backup         = 1;
+    public static final int perm_shutdown       = 1 << 1;
+    public static final int perm_head           = 1 << 2;
+    public static final int perm_hr_training    = 1 << 3;
+    public static final int perm_grant_training = 1 << 4;
+
+    /**
+     * Reihenfolge der Zeichen im Permission String, Index i steht für das Bit 1 << i.
+     */
+    private static final String permission_chars = "BSHTt";
+
+    private static final int full_permissions   = perm_backup | perm_shutdown | perm_head | perm_hr_training | perm_grant_training;
+    private static final int admin_permissions  = full_permissions;
+    private static final int hr_head_permissions = perm_head | perm_hr_training | perm_grant_training;
+    private static final int hr_permissions     = perm_head | perm_grant_training;
+    private static final int head_permissions   = perm_head;
+    private static final int empty_permissions  = 0;
+
+    /**
+     * Rollen-Eigenschaften, die für die Regeln der Schulungszuweisung gebraucht werden.
+     */
+    private static final int role_hr_head     = 1;
+    private static final int role_hr_employee = 1 << 1;
+    private static final int role_it_admin    = 1 << 2;
+    private static final int role_head        = 1 << 3;
+
+    private static final int department_it = 1;
+    private static final int department_hr = 1 << 1;
+
+    /**
+     * Aufgelöste Eigenschaften je Rollen-ID bzw. Abteilungs-ID. Die festen Rollen werden vorab eingetragen,
+     * alle anderen IDs beim ersten Zugriff aus ihrem Namensmuster abgeleitet.
+     */
+    private static final Map<String, Integer> role_policies = new ConcurrentHashMap<>(Map.of(
+            "role-hr-head", role_hr_head | role_head,
+            "role-hr-advisor", role_hr_employee,
+            "role-payroll-admin", role_hr_employee,
+            "role-personnel-consultant", role_hr_employee,
+            "role-it-systems-admin", role_it_admin,
+            "role-it-head", role_it_admin | role_head
+    ));
+    private static final Map<String, Integer> department_policies = new ConcurrentHashMap<>();
+
+    private static volatile int current_permissions = empty_permissions;
 
 
     // Aktuell eingeloggter Mitarbeiter
@@ -40,33 +82,79 @@ public class PermissionChecker {
      * @author Elias Glauert
      */
     public static String getEmployeePermissionString(String department_id, String role_id) {
-        if(department_id.endsWith("-it")) {
-            return admin_permissions_string;
+        return toPermissionString(getEmployeePermissions(department_id, role_id));
+    }
+
+    /**
+     * Gibt die relevanten Berechtigungen als Bitmaske zurück.
+     * @param department_id DepartmentID von dem Mitarbeiter
+     * @param role_id RoleID von dem Mitarbeiter
+     * @return Bitmaske aus den perm_* Konstanten
+     * @author Elias Glauert
+     */
+    public static int getEmployeePermissions(String department_id, String role_id) {
+        int department = departmentFlags(department_id);
+        boolean head = (roleFlags(role_id) & role_head) != 0;
+        if ((department & department_it) != 0) {
+            return admin_permissions;
         }
-        else if(department_id.endsWith("-hr")&&role_id.endsWith("-head")) {
-            return hr_permission_head_string;
+        else if ((department & department_hr) != 0 && head) {
+            return hr_head_permissions;
         }
-        else if(department_id.endsWith("-hr")) {
-            return hr_permissions_string;
+        else if ((department & department_hr) != 0) {
+            return hr_permissions;
         }
-        else if(role_id.endsWith("-head")) {
-            return head_permission_string;
+        else if (head) {
+            return head_permissions;
         }
         else {
-            return empty_permissions_string;
+            return empty_permissions;
+        }
+    }
+
+    /**
+     * Übersetzt einen Permission String (z.B. "--H-t") in eine Bitmaske. Unbekannte Zeichen werden ignoriert.
+     * @param permissions Permission String
+     * @return Bitmaske aus den perm_* Konstanten
+     * @author Elias Glauert
+     */
+    public static int parsePermissions(String permissions) {
+        if (permissions == null) return empty_permissions;
+        int mask = empty_permissions;
+        for (int i = 0; i < permissions.length(); i++) {
+            mask |= flagOf(permissions.charAt(i));
         }
+        return mask;
+    }
+
+    /**
+     * Übersetzt eine Bitmaske zurück in einen Permission String, fehlende Berechtigungen werden zu '-'.
+     * @param mask Bitmaske aus den perm_* Konstanten
+     * @return Permission String in der Form "BSHTt"
+     * @author Elias Glauert
+     */
+    public static String toPermissionString(int mask) {
+        char[] chars = new char[permission_chars.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (mask & (1 << i)) != 0 ? permission_chars.charAt(i) : '-';
+        }
+        return new String(chars);
     }
 
     public static void setCurrent_permissions(String permissions) {
-        current_permissions = permissions;
+        current_permissions = parsePermissions(permissions);
     }
 
     public static String getCurrent_permissions() {
+        return toPermissionString(current_permissions);
+    }
+
+    public static int getCurrentPermissionMask() {
         return current_permissions;
     }
 
     public static void resetCurrent_permissions() {
-        setCurrent_permissions(empty_permissions_string);
+        current_permissions = empty_permissions;
     }
 
     /**
@@ -76,8 +164,18 @@ public class PermissionChecker {
      * @author Elias Glauert
      */
     public static boolean hasPermission(char permission) {
-        return getCurrent_permissions().contains(String.valueOf(permission));
+        int flag = flagOf(permission);
+        return flag != 0 && (current_permissions & flag) != 0;
+    }
 
+    /**
+     * Überprüft, ob alle angefragten Permissions in den jetzigen des Users vorhanden sind.
+     * @param permissions Bitmaske aus den perm_* Konstanten
+     * @return Ob der User alle angefragten Berechtigungen hat
+     * @author Elias Glauert
+     */
+    public static boolean hasPermissions(int permissions) {
+        return (current_permissions & permissions) == permissions;
     }
 
     /**
@@ -91,21 +189,20 @@ public class PermissionChecker {
     public static boolean canAssignTraining(Employee from, Employee to) {
         if (from == null || to == null) return false;
 
-        String fromRole = from.getRoleId();
-        String toRole   = to.getRoleId();
+        int fromRole = roleFlags(from.getRoleId());
 
         // HR-Head darf allen zuweisen
-        if (fromRole.equals("role-hr-head")) {
+        if ((fromRole & role_hr_head) != 0) {
             return true;
         }
 
         // HR-Mitarbeiter dürfen nur an Nicht-IT-Admins und Nicht-Heads
-        if (isHrEmployee(fromRole)) {
-            return !isItAdmin(toRole) && !isHead(toRole);
+        if ((fromRole & role_hr_employee) != 0) {
+            return (roleFlags(to.getRoleId()) & (role_it_admin | role_head)) == 0;
         }
 
         // Heads dürfen nur an sich selbst und ihr Team zuweisen
-        if (isHead(fromRole)) {
+        if ((fromRole & role_head) != 0) {
             return from.getId() == to.getId() ||
                     (from.getTeamId() != null && from.getTeamId().equals(to.getTeamId()));
         }
@@ -116,19 +213,23 @@ public class PermissionChecker {
 
 
     // Hilfsmethoden (private oder public je nach Bedarf)
-    private static boolean isHrEmployee(String roleId) {
-        return roleId.equals("role-hr-advisor") ||
-                roleId.equals("role-payroll-admin") ||
-                roleId.equals("role-personnel-consultant");
+    private static int flagOf(char permission) {
+        int index = permission_chars.indexOf(permission);
+        return index < 0 ? 0 : 1 << index;
     }
 
-    private static boolean isItAdmin(String roleId) {
-        return roleId.equals("role-it-systems-admin") ||
-                roleId.equals("role-it-head");
+    private static int roleFlags(String roleId) {
+        if (roleId == null) return 0;
+        return role_policies.computeIfAbsent(roleId, id -> id.endsWith("-head") ? role_head : 0);
     }
 
-    private static boolean isHead(String roleId) {
-        return roleId != null && roleId.endsWith("-head");
+    private static int departmentFlags(String departmentId) {
+        if (departmentId == null) return 0;
+        return department_policies.computeIfAbsent(departmentId, id -> {
+            if (id.endsWith("-it")) return department_it;
+            if (id.endsWith("-hr")) return department_hr;
+            return 0;
+        });
     }
 
 
@@ -1,23 +1,60 @@
 package util;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Statische Klasse, welche die Informationen aus der Datei 'persistent.information' liest und schreibt.
- * @version 1.4
+ * Die Datei wird nur beim ersten Zugriff gelesen, danach antworten alle Getter aus dem Speicher.
+ * Änderungen werden sofort im Speicher sichtbar und im Hintergrund auf die Platte geschrieben; dabei wird zuerst
+ * eine temporäre Datei geschrieben und diese dann atomar umbenannt, sodass die Datei nie halb geschrieben ist.
+ * @version 1.5
  * @author Elias Glauert, Joshua Sperber
  * @since 2025-07-12
  */
 public class PersistentInformationReader {
 
     private static final String file_path = "src/main/resources/persistent.information";
+    private static final String temp_file_path = file_path + ".tmp";
     private static final SimpleDateFormat date_format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
     private static final int fallback_employee_id = -1;
 
+    private static final Object lock = new Object();
+    private static Properties state = null;
+
+    /**
+     * Schreibt die Datei auf einem eigenen Daemon-Thread, damit Aufrufer (meist der EDT) nicht auf die Platte warten.
+     */
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "persistent-information-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicBoolean writePending = new AtomicBoolean(false);
+
+    /**
+     * Gibt den Zustand im Speicher zurück und liest ihn beim ersten Aufruf aus der Datei.
+     */
+    private static Properties state() {
+        synchronized (lock) {
+            if (state == null) {
+                state = loadProperties();
+            }
+            return state;
+        }
+    }
+
     private static Properties loadProperties() {
         Properties properties = new Properties();
         File file = new File(file_path);
@@ -44,23 +81,70 @@ public class PersistentInformationReader {
         return properties;
     }
 
-    private static void saveProperties(Properties properties) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file_path))) {
-            properties.store(writer, null);
+    /**
+     * Setzt Werte im Speicher und plant einen Schreibvorgang ein.
+     * Mehrere Änderungen, die vor dem Schreiben eintreffen, werden in einem Schreibvorgang zusammengefasst.
+     * @param keysAndValues Abwechselnd Schlüssel und Wert.
+     */
+    private static void update(String... keysAndValues) {
+        synchronized (lock) {
+            Properties properties = state();
+            for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+                properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+            }
+        }
+        if (writePending.compareAndSet(false, true)) {
+            writer.execute(PersistentInformationReader::saveProperties);
+        }
+    }
+
+    private static void saveProperties() {
+        writePending.set(false);
+        Properties snapshot = new Properties();
+        synchronized (lock) {
+            snapshot.putAll(state());
+        }
+
+        Path target = Path.of(file_path);
+        Path temp = Path.of(temp_file_path);
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                snapshot.store(writer, null);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             System.err.println("Error saving properties: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Wartet, bis alle geplanten Schreibvorgänge abgeschlossen sind. Wird beim Beenden des Programms aufgerufen.
+     * @author Elias Glauert
+     */
+    public static void flush() {
+        try {
+            writer.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
     public static Date getBackupDate() {
-        Properties properties = loadProperties();
-        String dateStr = properties.getProperty("backup.date", "");
+        String dateStr = state().getProperty("backup.date", "");
         if (dateStr.isEmpty()) {
             return null;
         }
         try {
-            return date_format.parse(dateStr);
+            synchronized (date_format) {
+                return date_format.parse(dateStr);
+            }
         } catch (ParseException e) {
             e.printStackTrace();
             return null;
@@ -68,20 +152,17 @@ public class PersistentInformationReader {
     }
 
     public static boolean isSystemBlocked() {
-        Properties properties = loadProperties();
-        String blockedStr = properties.getProperty("system.blocked", "False");
+        String blockedStr = state().getProperty("system.blocked", "False");
         return Boolean.parseBoolean(blockedStr);
     }
 
     public static boolean isUserLoggedIn() {
-        Properties properties = loadProperties();
-        String loggedInStr = properties.getProperty("user.logged.in", "False");
+        String loggedInStr = state().getProperty("user.logged.in", "False");
         return Boolean.parseBoolean(loggedInStr);
     }
 
     public static int getLoggedInUserId() {
-        Properties properties = loadProperties();
-        String userIdStr = properties.getProperty("user.id", String.valueOf(fallback_employee_id));
+        String userIdStr = state().getProperty("user.id", String.valueOf(fallback_employee_id));
         try {
             return Integer.parseInt(userIdStr);
         } catch (NumberFormatException e) {
@@ -95,28 +176,17 @@ public class PersistentInformationReader {
     }
 
     public static void setBackupDate(String backupDate) {
-        Properties properties = loadProperties();
-        properties.setProperty("backup.date", backupDate);
-        saveProperties(properties);
+        update("backup.date", backupDate);
     }
 
     public static void setSystemBlocked(boolean isSystemBlocked) {
-        Properties properties = loadProperties();
-        properties.setProperty("system.blocked", Boolean.toString(isSystemBlocked));
-        saveProperties(properties);
-    }
-
-    private static void setUserLoggedIn(boolean isLoggedIn) {
-        Properties properties = loadProperties();
-        properties.setProperty("user.logged.in", Boolean.toString(isLoggedIn));
-        saveProperties(properties);
+        update("system.blocked", Boolean.toString(isSystemBlocked));
     }
 
     public static void setLoggedInUserId(int userId) {
-        Properties properties = loadProperties();
-        properties.setProperty("user.id", Integer.toString(userId));
-        saveProperties(properties);
-        setUserLoggedIn(userId != fallback_employee_id);
+        // Benutzer-ID und Login-Status werden gemeinsam gesetzt und in einem Vorgang geschrieben
+        update("user.id", Integer.toString(userId),
+                "user.logged.in", Boolean.toString(userId != fallback_employee_id));
     }
 
     public static void clearLoggedInUser() {
@@ -0,0 +1,132 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Verzeichnis aller SQL-Befehle, die als .txt-Dateien unter 'sql/' im Classpath liegen.
+ * Beim ersten Zugriff werden alle Dateien einmal gelesen, von '--'-Kommentaren und dem abschließenden ';' befreit
+ * und in einer unveränderlichen Map abgelegt. Danach kostet ein Zugriff nur noch ein Nachschlagen in der Map.
+ * Ersetzt den SqlReader, der die Datei bei jedem Aufruf neu aus dem Arbeitsverzeichnis gelesen hat.
+ * Klasse wird statisch verwendet.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+public final class SqlRegistry {
+
+    private static final String sql_path = "sql/";
+    private static final String sql_suffix = ".txt";
+
+    private static final Map<String, String> commands = loadAll();
+
+    private SqlRegistry() {}
+
+    /**
+     * Gibt den SQL-Befehl mit dem angegebenen Namen zurück.
+     * @param commandName Dateiname ohne Endung, z.B. "addEmployee".
+     * @return Der Befehl ohne Kommentare.
+     * @throws IllegalArgumentException Falls es keinen Befehl mit diesem Namen gibt.
+     * @author Elias Glauert
+     */
+    public static String command(String commandName) {
+        String command = commands.get(commandName);
+        if (command == null) {
+            throw new IllegalArgumentException("SQL-Befehl '" + commandName + "' ist nicht vorhanden, bekannt sind: " + commands.keySet());
+        }
+        return command;
+    }
+
+    private static Map<String, String> loadAll() {
+        Map<String, String> loaded = new HashMap<>();
+        for (String name : listCommandNames()) {
+            loaded.put(name, strip(readResource(sql_path + name + sql_suffix)));
+        }
+        System.out.println("SqlRegistry - " + loaded.size() + " SQL-Befehle geladen: " + loaded.keySet());
+        return Map.copyOf(loaded);
+    }
+
+    /**
+     * Sucht alle .txt-Dateien direkt unter 'sql/', egal ob der Classpath ein Verzeichnis oder ein JAR ist.
+     * @author Elias Glauert
+     */
+    private static List<String> listCommandNames() {
+        URL directory = SqlRegistry.class.getClassLoader().getResource(sql_path);
+        if (directory == null) {
+            throw new IllegalStateException("Verzeichnis '" + sql_path + "' nicht im Classpath gefunden.");
+        }
+
+        List<String> names = new ArrayList<>();
+        try {
+            if (directory.getProtocol().equals("jar")) {
+                JarFile jar = ((JarURLConnection) directory.openConnection()).getJarFile();
+                Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    addIfCommand(names, entries.nextElement().getName());
+                }
+            } else {
+                try (Stream<Path> files = Files.list(Path.of(directory.toURI()))) {
+                    files.forEach(file -> addIfCommand(names, sql_path + file.getFileName()));
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("SQL-Befehle unter '" + sql_path + "' konnten nicht aufgelistet werden.", e);
+        }
+        return names;
+    }
+
+    private static void addIfCommand(List<String> names, String resource) {
+        if (!resource.startsWith(sql_path) || !resource.endsWith(sql_suffix)) return;
+        String name = resource.substring(sql_path.length(), resource.length() - sql_suffix.length());
+        // Unterverzeichnisse wie 'sql/migrations/' gehören dem SchemaMigrator
+        if (!name.contains("/")) {
+            names.add(name);
+        }
+    }
+
+    private static String readResource(String resource) {
+        try (InputStream input = SqlRegistry.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("SQL-Datei '" + resource + "' nicht gefunden.");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("SQL-Datei '" + resource + "' konnte nicht gelesen werden.", e);
+        }
+    }
+
+    /**
+     * Entfernt '--'-Kommentare, Leerzeilen und ein abschließendes ';'.
+     * Die Befehle dürfen daher kein '--' innerhalb von Zeichenketten enthalten.
+     * @author Elias Glauert
+     */
+    static String strip(String sql) {
+        StringBuilder stripped = new StringBuilder();
+        for (String line : sql.split("\n")) {
+            int comment = line.indexOf("--");
+            String code = (comment >= 0 ? line.substring(0, comment) : line).strip();
+            if (code.isEmpty()) continue;
+            if (!stripped.isEmpty()) stripped.append('\n');
+            stripped.append(code);
+        }
+        int end = stripped.length();
+        while (end > 0 && stripped.charAt(end - 1) == ';') end--;
+        return stripped.substring(0, end);
+    }
+}
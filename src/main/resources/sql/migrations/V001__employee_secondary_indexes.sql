@@ -0,0 +1,7 @@
+-- Sekundärindizes für die häufig gefilterten Spalten der Mitarbeiter-Tabelle
+CREATE INDEX IF NOT EXISTS idx_employees_department_id ON Employees(department_id);
+CREATE INDEX IF NOT EXISTS idx_employees_team_id ON Employees(team_id);
+CREATE INDEX IF NOT EXISTS idx_employees_role_id ON Employees(role_id);
+CREATE INDEX IF NOT EXISTS idx_employees_manager_id ON Employees(manager_id);
+CREATE INDEX IF NOT EXISTS idx_employees_email ON Employees(email);
+CREATE INDEX IF NOT EXISTS idx_employees_last_name ON Employees(last_name);
@@ -0,0 +1,17 @@
+-- Normalisierte Zuordnung von Mitarbeitern zu Qualifikationen und absolvierten Schulungen.
+-- Der Primärschlüssel beantwortet "was hat Mitarbeiter Y", der zweite Index "wer hat Qualifikation X".
+CREATE TABLE IF NOT EXISTS employee_skill (
+    employee_id INT NOT NULL,
+    skill_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (employee_id, skill_id),
+    CONSTRAINT fk_employee_skill_employee FOREIGN KEY (employee_id) REFERENCES Employees(id) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_employee_skill_skill_id ON employee_skill(skill_id, employee_id);
+
+CREATE TABLE IF NOT EXISTS employee_training (
+    employee_id INT NOT NULL,
+    training_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (employee_id, training_id),
+    CONSTRAINT fk_employee_training_employee FOREIGN KEY (employee_id) REFERENCES Employees(id) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_employee_training_training_id ON employee_training(training_id, employee_id);
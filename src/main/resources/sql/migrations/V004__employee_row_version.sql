@@ -0,0 +1,15 @@
+-- Zeilenversionen für das inkrementelle Nachladen des Mitarbeiter-Caches.
+-- Jede Änderung an einem Mitarbeiter bekommt eine neue Nummer aus der Sequenz, jede Löschung einen Grabstein mit eigener Nummer.
+-- Ein Cache muss dadurch nur die Zeilen lesen, deren Nummer größer als sein letzter bekannter Stand ist.
+CREATE SEQUENCE IF NOT EXISTS employee_row_version_seq START WITH 1;
+
+ALTER TABLE Employees ADD COLUMN IF NOT EXISTS row_version BIGINT DEFAULT NEXT VALUE FOR employee_row_version_seq NOT NULL;
+ALTER TABLE Employees ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_employees_row_version ON Employees(row_version);
+
+CREATE TABLE IF NOT EXISTS employee_tombstone (
+    employee_id INT PRIMARY KEY,
+    row_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_employee_tombstone_row_version ON employee_tombstone(row_version);
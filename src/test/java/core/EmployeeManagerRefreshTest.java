@@ -0,0 +1,148 @@
+package core;
+
+import db.DatabaseManager;
+import db.dao.EmployeeDao;
+import model.db.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft den inkrementellen Abgleich des Mitarbeiter-Caches zwischen zwei Instanzen auf derselben Datenbank,
+ * auch nachdem die Datenbank aus einem Backup wiederhergestellt wurde oder ein Löschen fehlgeschlagen ist.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+class EmployeeManagerRefreshTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager mainManager;
+    private DatabaseManager backupManager;
+    private EmployeeManager first;
+    private EmployeeManager second;
+    private int annaId;
+    private int benId;
+    private int carlaId;
+
+    @BeforeEach
+    void setUp() {
+        mainManager = new DatabaseManager("jdbc:h2:" + tempDir.resolve("employees_db").toAbsolutePath(), "sa", "", false);
+        mainManager.setupDatabase();
+        backupManager = new DatabaseManager("jdbc:h2:" + tempDir.resolve("backup_db").toAbsolutePath(), "sa", "", true);
+        backupManager.setupDatabase();
+
+        first = new EmployeeManager(new EmployeeDao(mainManager), mainManager);
+        second = new EmployeeManager(new EmployeeDao(mainManager), mainManager);
+        annaId = add("anna");
+        benId = add("ben");
+        carlaId = add("carla");
+        first.setUpEmployees();
+        second.setUpEmployees();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mainManager.disconnect();
+        backupManager.disconnect();
+    }
+
+    @Test
+    void refreshAppliesChangesOfOtherInstanceAndSkipsOwn() throws Exception {
+        Employee anna = first.getEmployeeById(annaId);
+        anna.setPhoneNumber("0123");
+        first.updateEmployee(anna);
+        first.removeEmployee(benId);
+
+        // Eigene Änderungen sind schon im Cache, das Objekt bleibt dasselbe
+        assertEquals(0, first.refreshEmployees());
+        assertSame(anna, first.getEmployeeById(annaId));
+
+        assertEquals(2, second.refreshEmployees());
+        assertEquals("0123", second.getEmployeeById(annaId).getPhoneNumber());
+        assertNull(second.getEmployeeById(benId));
+        assertEquals(0, second.refreshEmployees());
+    }
+
+    @Test
+    void restoreIsPickedUpEvenAfterLaterChanges() throws Exception {
+        mainManager.copyDatabaseToOtherDbManager(backupManager);
+
+        Employee anna = first.getEmployeeById(annaId);
+        anna.setPhoneNumber("nach dem Backup");
+        first.updateEmployee(anna);
+        first.removeEmployee(benId);
+        second.refreshEmployees();
+        assertNull(second.getEmployeeById(benId));
+        long versionBeforeRestore = new EmployeeDao(mainManager).getCurrentRowVersion();
+
+        backupManager.copyDatabaseToOtherDbManager(mainManager);
+        first.reloadAfterRestore();
+        // Eine Änderung nach der Wiederherstellung hebt die höchste Version über den Stand von second
+        Employee carla = first.getEmployeeById(carlaId);
+        carla.setLastName("Neumann");
+        first.updateEmployee(carla);
+
+        assertTrue(new EmployeeDao(mainManager).getCurrentRowVersion() > versionBeforeRestore,
+                "die Sequenz darf durch die Wiederherstellung nicht zurücklaufen");
+        second.refreshEmployees();
+        assertEquals("0999", second.getEmployeeById(annaId).getPhoneNumber());
+        assertNotNull(second.getEmployeeById(benId));
+        assertEquals("Neumann", second.getEmployeeById(carlaId).getLastName());
+        assertEquals(3, second.findAll().size());
+    }
+
+    @Test
+    void lowerRowVersionAfterRestoreForcesReload() throws Exception {
+        mainManager.copyDatabaseToOtherDbManager(backupManager);
+        first.removeEmployee(benId);
+        second.refreshEmployees();
+        assertNull(second.getEmployeeById(benId));
+
+        // Wiederherstellung ohne Markierung, z.B. von außerhalb der Anwendung
+        backupManager.copyDatabaseToOtherDbManager(mainManager);
+
+        second.refreshEmployees();
+        assertNotNull(second.getEmployeeById(benId));
+    }
+
+    @Test
+    void failedRemoveKeepsEmployeeCached() throws Exception {
+        // Ein Verweis ohne ON DELETE CASCADE lässt das Löschen scheitern
+        try (Connection conn = mainManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE employee_badge (employee_id INT REFERENCES Employees(id))");
+            stmt.execute("INSERT INTO employee_badge VALUES (" + benId + ")");
+        }
+
+        assertThrows(SQLException.class, () -> first.removeEmployee(benId));
+        assertNotNull(first.getEmployeeById(benId));
+        assertEquals(0, second.refreshEmployees());
+        assertNotNull(second.getEmployeeById(benId));
+    }
+
+    private int add(String username) {
+        Employee employee = new Employee(username, "pw", "", username, "Alt", username + "@example.org", "0999",
+                new Date(), "Hauptstraße 1", 'W', new Date(), "Active", null, null, null, "[]", "[]",
+                null, false, false, false, false);
+        first.addEmployee(employee);
+        return employee.getId();
+    }
+}
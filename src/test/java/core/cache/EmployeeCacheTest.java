@@ -0,0 +1,83 @@
+package core.cache;
+
+import model.db.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Prüft, dass neue Snapshots des Caches nur die Indizes kopieren, deren Einträge sich ändern.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+class EmployeeCacheTest {
+
+    private EmployeeCache cache;
+    private Employee anna;
+    private Employee ben;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EmployeeCache();
+        anna = employee(1, "anna");
+        ben = employee(2, "ben");
+        cache.replaceAll(List.of(anna, ben));
+    }
+
+    @Test
+    void savingCachedEmployeeSharesAllIndexes() {
+        EmployeeCache.Snapshot before = cache.snapshot();
+        anna.setPhoneNumber("0123");
+        cache.put(anna);
+
+        EmployeeCache.Snapshot after = cache.snapshot();
+        assertEquals(before.version() + 1, after.version());
+        assertSame(before.employees(), after.employees());
+        assertSame(before.byId(), after.byId());
+        assertSame(before.byUsername(), after.byUsername());
+        assertSame(before.indexedUsernames(), after.indexedUsernames());
+    }
+
+    @Test
+    void renamedEmployeeCopiesOnlyUsernameIndexes() {
+        EmployeeCache.Snapshot before = cache.snapshot();
+        anna.setUsername("anna.neu");
+        cache.put(anna);
+
+        EmployeeCache.Snapshot after = cache.snapshot();
+        assertSame(before.byId(), after.byId());
+        assertNotSame(before.byUsername(), after.byUsername());
+        assertNull(cache.getByUsername("anna"));
+        assertSame(anna, cache.getByUsername("anna.neu"));
+        assertNull(before.byUsername().get("anna.neu"), "der alte Snapshot darf sich nicht ändern");
+    }
+
+    @Test
+    void replacedEmployeeKeepsPositionAndRemoveDropsKeys() {
+        Employee newAnna = employee(1, "anna");
+        cache.put(newAnna);
+        cache.remove(2);
+
+        assertEquals(List.of(newAnna), cache.values());
+        assertSame(newAnna, cache.getByUsername("anna"));
+        assertNull(cache.getByUsername("ben"));
+        assertNull(cache.getById(2));
+    }
+
+    private static Employee employee(int id, String username) {
+        Employee employee = new Employee(username, "pw", "", username, "Alt", username + "@example.org", "0999",
+                new Date(), "Hauptstraße 1", 'W', new Date(), "Active", null, null, null, "[]", "[]",
+                null, false, false, false, false);
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,59 @@
+package core.search;
+
+import model.db.EmployeeSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prüft, dass der Suchindex Treffer in ID-Reihenfolge liefert und die Suche abbricht, sobald der Empfänger genug hat.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSearchIndex();
+        index.replaceAll(List.of(
+                new EmployeeSummary(7, "Maria", "Marquardt", "maria@web.de", "it"),
+                new EmployeeSummary(3, "Markus", "Jäger", "mj@web.de", "hr"),
+                new EmployeeSummary(5, "Anna", "Martin", "anna@gmail.com", "it"),
+                new EmployeeSummary(1, "Ben", "Bauer", "ben@web.de", "it")));
+    }
+
+    @Test
+    void matchesAreInIdOrder() {
+        // "mar" passt über mehrere Tokens, Maria nur einmal trotz Vor- und Nachname
+        assertEquals(List.of(3, 5, 7), ids(index.search("mar", null)));
+        assertEquals(List.of(5, 7), ids(index.search("mar", "it")));
+        assertEquals(List.of(1, 7), ids(index.search("web", "it")));
+        assertEquals(List.of(3), ids(index.search("jager m", null)));
+        assertEquals(List.of(1, 3, 5, 7), ids(index.search("", null)));
+        assertEquals(List.of(), ids(index.search("mar", "vertrieb")));
+    }
+
+    @Test
+    void consumerCanStopTheSearch() {
+        List<Integer> seen = new ArrayList<>();
+        int count = index.forEachMatch("mar", null, summary -> {
+            seen.add(summary.id());
+            return seen.size() < 2;
+        });
+
+        assertEquals(2, count);
+        assertEquals(List.of(3, 5), seen);
+    }
+
+    private static List<Integer> ids(List<EmployeeSummary> summaries) {
+        return summaries.stream().map(EmployeeSummary::id).toList();
+    }
+}
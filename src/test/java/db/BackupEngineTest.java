@@ -0,0 +1,91 @@
+package db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Prüft, dass die BackupEngine das Ziel vollständig ersetzt und bei einem Fehler den alten Inhalt zurückspielt.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+class BackupEngineTest {
+
+    private Connection source;
+    private Connection target;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        source = DriverManager.getConnection("jdbc:h2:mem:backup_engine_source");
+        target = DriverManager.getConnection("jdbc:h2:mem:backup_engine_target");
+        execute(source, "CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(50))",
+                "INSERT INTO items VALUES (1, 'neu')");
+        execute(target, "CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(50))",
+                "INSERT INTO items VALUES (1, 'alt'), (2, 'alt')");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    void copyReplacesTargetContent() throws SQLException {
+        new BackupEngine().copy(source, target);
+
+        assertEquals(1, queryLong("SELECT COUNT(*) FROM items"));
+        assertEquals(1, queryLong("SELECT COUNT(*) FROM items WHERE name = 'neu'"));
+    }
+
+    @Test
+    void failedCopyKeepsTargetContent() {
+        // Das Lesen der Zeilen schlägt fehl, nachdem das Ziel bereits geleert wurde
+        Connection failingSource = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (_, method, args) -> {
+                    if (method.getName().equals("createStatement") && args != null && args.length == 2) {
+                        throw new SQLException("Lesefehler");
+                    }
+                    try {
+                        return method.invoke(source, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+
+        SQLException error = assertThrows(SQLException.class, () -> new BackupEngine().copy(failingSource, target));
+        assertEquals("Lesefehler", error.getMessage());
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM items WHERE name = 'alt'"));
+    }
+
+    private static void execute(Connection conn, String... statements) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    private long queryLong(String sql) {
+        try (Statement stmt = target.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.SqlRegistry;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft den SchemaMigrator gegen eine neu angelegte und eine bereits bestehende H2-Datei im temporären Verzeichnis.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+class SchemaMigratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager dbManager;
+
+    @AfterEach
+    void tearDown() {
+        if (dbManager != null) dbManager.disconnect();
+    }
+
+    @Test
+    void freshDatabaseGetsAllMigrations() throws SQLException {
+        dbManager = new DatabaseManager(url("fresh_db"), "sa", "", false);
+        dbManager.setupDatabase();
+
+        assertEquals(SchemaMigrator.latestVersion(), currentVersion());
+        assertTrue(tableExists("EMPLOYEE_SKILL"), "employee_skill fehlt");
+        assertTrue(tableExists("EMPLOYEE_TRAINING"), "employee_training fehlt");
+        assertTrue(tableExists("EMPLOYEE_TOMBSTONE"), "employee_tombstone fehlt");
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM Employees"));
+        // Ein zweiter Lauf findet nichts mehr zu tun
+        assertEquals(0, new SchemaMigrator(dbManager).migrate());
+    }
+
+    @Test
+    void existingDatabaseIsMigratedWithoutLosingRows() throws SQLException {
+        String url = url("existing_db");
+        // Stand vor den Migrationen: nur die ursprüngliche Employees-Tabelle mit Daten
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(SqlRegistry.command("createTableEmployees"));
+            stmt.execute("INSERT INTO Employees (username, password, qualifications, completed_trainings) "
+                    + "VALUES ('anna', 'pw', '[\"q-1\",\"q-2\"]', '[\"t-1\"]'), ('ben', 'pw', '[\"q-1\"]', '[]')");
+        }
+
+        dbManager = new DatabaseManager(url, "sa", "", false);
+        dbManager.setupDatabase();
+
+        assertEquals(SchemaMigrator.latestVersion(), currentVersion());
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM Employees"));
+        assertEquals(2, queryLong("SELECT COUNT(DISTINCT row_version) FROM Employees"), "jede Zeile braucht eine eigene Version");
+        assertEquals(3, queryLong("SELECT COUNT(*) FROM employee_skill"));
+        assertEquals(1, queryLong("SELECT COUNT(*) FROM employee_training"));
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM employee_skill WHERE skill_id = 'q-1'"));
+    }
+
+    private String url(String name) {
+        return "jdbc:h2:" + tempDir.resolve(name).toAbsolutePath();
+    }
+
+    private long currentVersion() throws SQLException {
+        return queryLong("SELECT MAX(version) FROM schema_version");
+    }
+
+    private boolean tableExists(String table) throws SQLException {
+        return queryLong("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = '" + table + "'") == 1;
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Connection conn = dbManager.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
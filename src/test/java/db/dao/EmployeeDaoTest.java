@@ -0,0 +1,119 @@
+package db.dao;
+
+import db.DatabaseManager;
+import model.db.Employee;
+import model.db.EmployeeField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft, dass updateEmployee nur die geänderten Spalten eines Mitarbeiters schreibt und equals nichts nachlädt.
+ *
+ * @author Elias Glauert
+ * @version 1.0
+ * @since 2025-08-13
+ */
+class EmployeeDaoTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager dbManager;
+    private EmployeeDao employeeDao;
+
+    @BeforeEach
+    void setUp() {
+        dbManager = new DatabaseManager("jdbc:h2:" + tempDir.resolve("employees_db").toAbsolutePath(), "sa", "", false);
+        dbManager.setupDatabase();
+        employeeDao = new EmployeeDao(dbManager);
+        employeeDao.addEmployeeToDb(newEmployee("anna"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dbManager.disconnect();
+    }
+
+    @Test
+    void updateWritesOnlyDirtyColumns() throws Exception {
+        Employee first = loadOnly();
+        Employee second = loadOnly();
+
+        first.setPhoneNumber("0123");
+        assertEquals(EnumSet.of(EmployeeField.PHONE_NUMBER), first.getDirtyFields());
+        employeeDao.updateEmployee(first);
+
+        // second hält noch die alte Telefonnummer und darf sie nicht zurückschreiben
+        second.setLastName("Neumann");
+        employeeDao.updateEmployee(second);
+
+        Employee stored = loadOnly();
+        assertEquals("0123", stored.getPhoneNumber());
+        assertEquals("Neumann", stored.getLastName());
+        assertFalse(first.isDirty());
+        assertFalse(second.isDirty());
+    }
+
+    @Test
+    void unchangedEmployeeIsNotWritten() throws Exception {
+        Employee employee = loadOnly();
+        long version = employeeDao.getCurrentRowVersion();
+
+        employee.setPhoneNumber(employee.getPhoneNumber());
+        assertFalse(employee.isDirty());
+        employeeDao.updateEmployee(employee);
+
+        assertEquals(version, employeeDao.getCurrentRowVersion());
+    }
+
+    @Test
+    void failedUpdateKeepsChangesDirty() {
+        Employee employee = loadOnly();
+        employee.setId(999_999);
+        employee.setEmail("anna.alt@example.org");
+
+        assertThrows(Exception.class, () -> employeeDao.updateEmployee(employee));
+        assertTrue(employee.getDirtyFields().contains(EmployeeField.EMAIL));
+    }
+
+    @Test
+    void equalsDoesNotLoadMissingFields() {
+        Employee first = employeeDao.getAllEmployeesPartialFromDb().get(0);
+        Employee second = employeeDao.getAllEmployeesPartialFromDb().get(0);
+        Employee full = loadOnly();
+
+        assertEquals(first, second);
+        assertEquals(first, full);
+        assertFalse(first.getMissingFields().isEmpty());
+        assertFalse(second.getMissingFields().isEmpty());
+
+        full.setAddress("Nebenstraße 2");
+        assertNotEquals(first, full);
+        assertFalse(first.getMissingFields().isEmpty());
+    }
+
+    private Employee loadOnly() {
+        List<Employee> employees = employeeDao.getAllEmployeesFromDb();
+        assertEquals(1, employees.size());
+        return employees.get(0);
+    }
+
+    private static Employee newEmployee(String username) {
+        return new Employee(username, "pw", "", "Anna", "Alt", username + "@example.org", "0999",
+                new Date(), "Hauptstraße 1", 'W', new Date(), "Active", null, null, null, "[]", "[]",
+                null, false, false, false, false);
+    }
+}